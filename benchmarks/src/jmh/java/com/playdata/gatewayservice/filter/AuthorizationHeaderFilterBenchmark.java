@@ -0,0 +1,109 @@
+package com.playdata.gatewayservice.filter;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.AntPathMatcher;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    AuthorizationHeaderFilter 토큰 검증 성능 측정
+
+    - parserPerRequest: 요청마다 파서를 새로 만들던 예전 방식
+    - sharedParser: 파서 재사용, 캐시 없음 (처음 보는 토큰)
+    - cachedToken: 이미 검증된 토큰 (캐시 적중)
+    - allowListStream / allowListPrecompiled: 허용 url 확인 예전 방식 / 현재 방식
+    - filterProtectedPath: 토큰이 필요한 요청 하나가 필터 전체를 통과하는 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthorizationHeaderFilterBenchmark {
+
+    // HS512용 512bit 키 (base64)
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("benchmark-secret-key-benchmark-secret-key-benchmark-secret-key!!".getBytes());
+
+    private static final List<String> OLD_ALLOW_URL = Arrays.asList(
+            "/user/create", "/user/doLogin", "/user/refresh",
+            "/product/list", "/user/health-check", "/demo/no-circuit",
+            "/demo/with-circuit", "/user/email-valid", "/user/verify",
+            "/user/kakao", "/user/k8s-stage-test"
+    );
+
+    private AuthorizationHeaderFilter filter;
+    private GatewayFilter gatewayFilter;
+    private JwtParser sharedParser;
+    private String token;
+
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+
+    @Setup
+    public void setUp() {
+        filter = new AuthorizationHeaderFilter(SECRET, 10_000);
+        gatewayFilter = filter.apply(new Object());
+        sharedParser = Jwts.parserBuilder().setSigningKey(SECRET).build();
+        token = Jwts.builder()
+                .setSubject("user@test.com")
+                .claim("role", "USER")
+                .claim("userId", 1L)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .compact();
+        // 캐시 적중 측정을 위해 미리 한 번 검증
+        filter.validateJwt(token);
+    }
+
+    @Benchmark
+    public Claims parserPerRequest() {
+        return Jwts.parserBuilder()
+                .setSigningKey(SECRET)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims sharedParser() {
+        return sharedParser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims cachedToken() {
+        return filter.validateJwt(token);
+    }
+
+    @Benchmark
+    public boolean allowListStream() {
+        String path = "/order/create";
+        AntPathMatcher antPathMatcher = new AntPathMatcher();
+        return OLD_ALLOW_URL.stream().anyMatch(url -> antPathMatcher.match(url, path));
+    }
+
+    @Benchmark
+    public boolean allowListPrecompiled() {
+        return filter.isAllowedUrl("/order/create");
+    }
+
+    @Benchmark
+    public Object filterProtectedPath() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/order/create")
+                        .header("Authorization", "Bearer " + token));
+        gatewayFilter.filter(exchange, chain).block();
+        return exchange;
+    }
+}
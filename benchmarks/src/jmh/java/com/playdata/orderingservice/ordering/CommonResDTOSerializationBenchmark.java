@@ -0,0 +1,73 @@
+package com.playdata.orderingservice.ordering;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.playdata.orderingservice.common.dto.CommonResDTO;
+import com.playdata.orderingservice.ordering.dto.OrderNotificationEvent;
+import com.playdata.orderingservice.ordering.dto.OrderingListResDTO;
+import com.playdata.orderingservice.ordering.dto.OrderingPageResDTO;
+import com.playdata.orderingservice.ordering.entity.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    CommonResDTO 응답의 JSON 직렬화 비용 측정
+
+    - myOrderPage: 내 주문 내역 한 페이지 (주문 pageSize개, 주문마다 상세 3개)
+    - notificationEvent: 주문 완료 알림 이벤트
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommonResDTOSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    // 스프링이 만들어주는 ObjectMapper와 같은 설정 (날짜를 문자열로)
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private CommonResDTO<OrderingPageResDTO> myOrderPage;
+    private CommonResDTO<OrderNotificationEvent> notificationEvent;
+
+    @Setup
+    public void setUp() {
+        List<OrderingListResDTO> orders = new ArrayList<>();
+        for (long i = 1; i <= pageSize; i++) {
+            List<OrderingListResDTO.OrderDetailDTO> details = new ArrayList<>();
+            for (long j = 1; j <= 3; j++) {
+                details.add(new OrderingListResDTO.OrderDetailDTO(i * 10 + j, "product-" + j, (int) j));
+            }
+            orders.add(new OrderingListResDTO(i, "user@test.com", OrderStatus.ORDERED, details));
+        }
+        myOrderPage = new CommonResDTO<>(HttpStatus.OK, "정상 조회 완료",
+                new OrderingPageResDTO(orders, 1L, true));
+
+        List<OrderNotificationEvent.OrderItemInfo> items = new ArrayList<>();
+        for (long j = 1; j <= 3; j++) {
+            items.add(new OrderNotificationEvent.OrderItemInfo(j, 1));
+        }
+        notificationEvent = new CommonResDTO<>(HttpStatus.OK, "알림",
+                new OrderNotificationEvent(1L, "user@test.com", 1L, "ORDERED", 3,
+                        LocalDateTime.now(), items));
+    }
+
+    @Benchmark
+    public byte[] myOrderPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(myOrderPage);
+    }
+
+    @Benchmark
+    public byte[] notificationEvent() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(notificationEvent);
+    }
+}
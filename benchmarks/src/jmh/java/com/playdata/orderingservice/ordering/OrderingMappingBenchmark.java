@@ -0,0 +1,60 @@
+package com.playdata.orderingservice.ordering;
+
+import com.playdata.orderingservice.ordering.dto.OrderNotificationEvent;
+import com.playdata.orderingservice.ordering.dto.OrderingListResDTO;
+import com.playdata.orderingservice.ordering.entity.OrderDetail;
+import com.playdata.orderingservice.ordering.entity.Ordering;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+    주문 엔터티 -> DTO 변환 비용 측정 (주문 상세 개수별)
+
+    - notificationEvent: 주문 완료 알림 이벤트 생성 (OrderNotificationEvent.fromOrdering)
+    - listResDTO: 내 주문 내역 응답 변환 (Ordering.fromEntity)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderingMappingBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int detailCount;
+
+    private Ordering ordering;
+    private Map<Long, String> productIdToNameMap;
+
+    @Setup
+    public void setUp() {
+        ordering = Ordering.builder()
+                .id(1L)
+                .userId(1L)
+                .userEmail("user@test.com")
+                .orderDetails(new ArrayList<>())
+                .build();
+        productIdToNameMap = new HashMap<>();
+        for (long i = 1; i <= detailCount; i++) {
+            ordering.getOrderDetails().add(OrderDetail.builder()
+                    .id(i)
+                    .productId(i)
+                    .quantity((int) (i % 5) + 1)
+                    .ordering(ordering)
+                    .build());
+            productIdToNameMap.put(i, "product-" + i);
+        }
+    }
+
+    @Benchmark
+    public OrderNotificationEvent notificationEvent() {
+        return OrderNotificationEvent.fromOrdering(ordering);
+    }
+
+    @Benchmark
+    public OrderingListResDTO listResDTO() {
+        return ordering.fromEntity(ordering.getUserEmail(), productIdToNameMap);
+    }
+}
@@ -0,0 +1,127 @@
+package com.playdata.productservice.product.service;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.playdata.productservice.product.dto.ProductPageResDTO;
+import com.playdata.productservice.product.dto.ProductResDTO;
+import com.playdata.productservice.product.dto.ProductSearchDTO;
+import com.playdata.productservice.product.entity.Product;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.MySQLDialect;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.playdata.productservice.product.entity.QProduct.product;
+
+/*
+    상품 목록 offset 페이징 vs 커서(keyset) 페이징 비용 측정 (ProductService.productList / productListByCursor)
+    tbl_product에 100만 건을 넣어두고 1페이지와 10,000페이지(size 20)를 조회함.
+
+    - offset: ProductPageQuery.offset -> 앞 페이지의 행을 모두 읽고 버림 (깊은 페이지일수록 느려짐)
+    - cursor: ProductPageQuery.before (size + 1개 조회) + toPage -> PK 인덱스에서 바로 시작 위치를 찾음
+
+    서비스와 같은 QueryDSL 쿼리를 Hibernate로 실행하고, 테이블도 Product 엔터티로 Hibernate가 생성함 (ddl-auto와 같은 DDL).
+    DB는 내장 MariaDB(InnoDB)를 띄워서 사용함 (MySQL 방언/드라이버 그대로, 별도 인덱스 없음).
+    H2는 PK를 거꾸로 읽지 못해서 ORDER BY id DESC를 전체 정렬로 처리하므로 운영(MySQL)과 결과가 다름.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductPagingBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1", "10000"})
+    private int page;
+
+    private DB db;
+    private SessionFactory sessionFactory;
+    private EntityManager em;
+    private JPAQueryFactory factory;
+
+    // 검색어 없는 목록 조회 (검색어가 있으면 n-gram 색인을 사용하므로 DB 쿼리는 이 경우만 해당)
+    private final ProductSearchDTO dto = new ProductSearchDTO();
+    private long cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0); // 빈 포트 사용
+        config.addArg("--user=root"); // root 계정으로 실행하는 환경(CI 컨테이너 등)에서도 기동되도록
+        db = DB.newEmbeddedDB(config.build());
+        db.start();
+
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Product.class)
+                .setProperty("hibernate.connection.url", "jdbc:mysql://localhost:" + db.getConfiguration().getPort() + "/test")
+                .setProperty("hibernate.connection.username", "root")
+                .setProperty("hibernate.connection.password", "")
+                .setProperty("hibernate.dialect", MySQLDialect.class.getName())
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                // 스프링 부트 기본값과 같은 컬럼명 (stockQuantity -> stock_quantity)
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .buildSessionFactory();
+
+        em = sessionFactory.createEntityManager();
+        factory = new JPAQueryFactory(em);
+
+        // IDENTITY 전략이라 JPA로는 한 건씩 insert 되므로, 생성된 테이블에 SQL로 한 번에 넣음 (seq_1_to_N: MariaDB 숫자 테이블)
+        em.getTransaction().begin();
+        em.createNativeQuery("""
+                INSERT INTO tbl_product (name, category, price, stock_quantity, image_path, stock_mode,
+                                         create_time, update_time)
+                SELECT CONCAT('product-', seq), CONCAT('category-', MOD(seq, 50)), 1000 + MOD(seq, 100), 100,
+                       CONCAT('https://example.com/', seq, '.png'), 'DB', NOW(), NOW()
+                FROM seq_1_to_%d""".formatted(ROWS)).executeUpdate();
+        em.getTransaction().commit();
+
+        // page번째 페이지를 요청할 때 클라이언트가 넘기는 cursor = 바로 앞 페이지 응답의 nextCursor
+        cursor = Long.MAX_VALUE;
+        if (page > 1) {
+            cursor = factory
+                    .select(product.id)
+                    .from(product)
+                    .orderBy(product.id.desc())
+                    .offset((long) (page - 1) * PAGE_SIZE - 1)
+                    .limit(1)
+                    .fetchOne();
+        }
+        if (!cursor().isHasNext()) {
+            throw new IllegalStateException("page " + page + " should have a next page");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        em.close();
+        sessionFactory.close();
+        db.stop();
+    }
+
+    @Benchmark
+    public List<ProductResDTO> offset() {
+        List<Product> products = ProductPageQuery.offset(factory, dto, (long) (page - 1) * PAGE_SIZE, PAGE_SIZE);
+        List<ProductResDTO> result = products.stream()
+                .map(Product::fromEntity)
+                .collect(Collectors.toList());
+        em.clear(); // 요청마다 새 영속성 컨텍스트 (조회한 엔터티가 쌓이지 않도록)
+        return result;
+    }
+
+    @Benchmark
+    public ProductPageResDTO cursor() {
+        // 다음 페이지 여부 확인용 1개를 더 조회
+        ProductPageResDTO result = ProductPageQuery.toPage(
+                ProductPageQuery.before(factory, dto, cursor, PAGE_SIZE + 1), PAGE_SIZE);
+        em.clear();
+        return result;
+    }
+}
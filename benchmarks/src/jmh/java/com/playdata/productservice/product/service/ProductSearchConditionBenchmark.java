@@ -0,0 +1,32 @@
+package com.playdata.productservice.product.service;
+
+import com.playdata.productservice.product.dto.ProductSearchDTO;
+import com.querydsl.core.BooleanBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    상품 목록 검색 조건(BooleanBuilder) 생성 비용 측정 (ProductService.productList)
+    category: none(전체 조회), name(상품명 검색), category(카테고리 검색)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductSearchConditionBenchmark {
+
+    @Param({"none", "name", "category"})
+    private String category;
+
+    private ProductSearchDTO dto;
+
+    @Setup
+    public void setUp() {
+        dto = new ProductSearchDTO("none".equals(category) ? null : category, "keyboard");
+    }
+
+    @Benchmark
+    public BooleanBuilder searchCondition() {
+        return ProductSearchCondition.of(dto);
+    }
+}
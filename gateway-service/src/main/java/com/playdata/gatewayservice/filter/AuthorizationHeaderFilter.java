@@ -1,6 +1,10 @@
 package com.playdata.gatewayservice.filter;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,35 +20,81 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 // 회원 권한 요청 처리 -> 토큰이 유효한지를 확인해서 유효하다면 통과, 유효하지 않다면 차단.
 @Component
 @Slf4j
 public class AuthorizationHeaderFilter extends AbstractGatewayFilterFactory {
 
-    @Value("${jwt.secretKey}")
-    private String secretKey;
-
-    private final List<String> allowUrl = Arrays.asList(
+    private static final List<String> allowUrl = Arrays.asList(
             "/user/create", "/user/doLogin", "/user/refresh",
-            "/product/list", "/user/health-check", "/demo/no-circuit",
+            "/product/list", "/product/list/cursor", "/user/health-check", "/demo/no-circuit",
             "/demo/with-circuit", "/user/email-valid", "/user/verify",
             "/user/kakao", "/user/k8s-stage-test"
     );
 
+    // 허용 url은 서버 시작 시 한 번만 나눠 둠.
+    // 와일드카드가 없는 url은 Set으로 바로 찾고, 패턴만 AntPathMatcher로 비교 (AntPathMatcher는 공유해도 안전)
+    private static final Set<String> allowExactUrl = allowUrl.stream()
+            .filter(url -> !new AntPathMatcher().isPattern(url))
+            .collect(Collectors.toUnmodifiableSet());
+    private static final List<String> allowPatternUrl = allowUrl.stream()
+            .filter(url -> new AntPathMatcher().isPattern(url))
+            .toList();
+    private static final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    // 서명 키를 넣은 파서는 한 번만 만들어서 재사용 (thread-safe)
+    private final JwtParser jwtParser;
+
+    // 검증이 끝난 토큰의 클레임 캐시 (토큰 해시 -> 클레임)
+    // 같은 세션의 반복 요청은 서명 검증(HMAC-SHA512)을 건너뜀. 항목은 토큰 만료 시각(exp)에 같이 사라짐.
+    private final Cache<String, Claims> verifiedTokens;
+
+    public AuthorizationHeaderFilter(
+            @Value("${jwt.secretKey}") String secretKey,
+            @Value("${gateway.token-cache.max-size:10000}") long tokenCacheSize) {
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long remainingMillis = claims.getExpiration() == null ?
+                                0 : claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     @Override
     public GatewayFilter apply(Object config) {
         return (exchange, chain) -> {
             String path = exchange.getRequest().getURI().getPath();
-            AntPathMatcher antPathMatcher = new AntPathMatcher();
 
-            // 허용 url 리스트를 순회하면서 지금 들어온 요청 url과 하나라도 일치하면 true 리턴
-            boolean isAllowed
-                    = allowUrl.stream()
-                    .anyMatch(url -> antPathMatcher.match(url, path));
-            log.info("isAllowed:{}", isAllowed);
+            // 지금 들어온 요청 url이 허용 url 중 하나와 일치하면 true
+            boolean isAllowed = isAllowedUrl(path);
+            log.debug("isAllowed:{}", isAllowed);
 
             if (isAllowed || path.startsWith("/actuator")) {
                 // 허용 url이 맞다면 그냥 통과~
@@ -75,10 +125,18 @@ public class AuthorizationHeaderFilter extends AbstractGatewayFilterFactory {
             }
 
             // 사용자 정보를 클레임에서 꺼내서 헤더에 담자
+            // 회원 번호는 예전에 발급된 토큰에는 없음 -> 클라이언트가 임의로 넣은 값이 넘어가지 않도록 먼저 지움
+            Object userId = claims.get("userId");
             ServerHttpRequest request = exchange.getRequest()
                     .mutate()
                     .header("X-User-Email", claims.getSubject())
                     .header("X-User-Role", claims.get("role", String.class))
+                    .headers(headers -> {
+                        headers.remove("X-User-Id");
+                        if (userId != null) {
+                            headers.set("X-User-Id", userId.toString());
+                        }
+                    })
                     .build();
 
             // 새롭게 만든 (토큰 정보를 헤더에 담은) request를 exchange에 갈아끼워서 보내자.
@@ -107,17 +165,40 @@ public class AuthorizationHeaderFilter extends AbstractGatewayFilterFactory {
         return response.writeWith(Mono.just(buffer));
     }
 
-    private Claims validateJwt(String token) {
+    boolean isAllowedUrl(String path) {
+        if (allowExactUrl.contains(path)) return true;
+        for (String pattern : allowPatternUrl) {
+            if (antPathMatcher.match(pattern, path)) return true;
+        }
+        return false;
+    }
+
+    Claims validateJwt(String token) {
+        String key = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) return cached;
+
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
+            Claims claims = jwtParser
                     .parseClaimsJws(token)
                     .getBody();
+            verifiedTokens.put(key, claims);
+            return claims;
         } catch (Exception e) {
             log.error("JWT validation failed: {}", e.getMessage());
             return null;
         }
 
     }
+
+    // 토큰 원문 대신 해시를 캐시 키로 사용 (메모리에 토큰을 그대로 들고 있지 않도록)
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.playdata.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+    가상 사용자 한 명의 시나리오 (모든 요청은 gateway를 통과)
+
+    준비: 회원가입 -> 로그인 (토큰 발급)
+    반복: 상품 목록 조회 -> 주문 -> 내 주문 내역 조회
+ */
+public class CheckoutScenario {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String PASSWORD = "load-test-password";
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final LatencyRecorder recorder;
+    private final String email;
+    private String token;
+
+    public CheckoutScenario(LoadTestConfig config, HttpClient httpClient, LatencyRecorder recorder, int userNo) {
+        this.config = config;
+        this.httpClient = httpClient;
+        this.recorder = recorder;
+        this.email = "load-test-" + userNo + "-" + System.currentTimeMillis() + "@test.com";
+    }
+
+    public void login() throws Exception {
+        send("user/create", post("/user-service/user/create", Map.of(
+                "name", "load-test",
+                "email", email,
+                "password", PASSWORD,
+                "address", Map.of("city", "Seoul", "street", "Teheran-ro", "zipCode", "06236"))));
+
+        JsonNode login = send("user/doLogin", post("/user-service/user/doLogin",
+                Map.of("email", email, "password", PASSWORD)));
+        if (login == null) {
+            throw new IllegalStateException("로그인 실패: " + email);
+        }
+        token = login.path("result").path("token").asText();
+    }
+
+    public void iterate() throws Exception {
+        send("product/list", get("/product-service/product/list?page=0&size=10"));
+
+        long productId = ThreadLocalRandom.current().nextLong(1, config.products() + 1);
+        send("order/create", post("/ordering-service/order/create",
+                List.of(Map.of("productId", productId, "productQuantity", 1))));
+
+        send("order/my-order", get("/ordering-service/order/my-order?size=20"));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder post(String path, Object body) throws Exception {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(config.gatewayUrl() + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // 응답이 2xx가 아니면 오류로 기록하고 null 리턴
+    private JsonNode send(String endpoint, HttpRequest.Builder request) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (java.io.IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+        long latency = System.nanoTime() - start;
+        boolean success = response.statusCode() / 100 == 2;
+        recorder.record(endpoint, latency, success);
+        return success && response.body().length > 0 ? objectMapper.readTree(response.body()) : null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.playdata.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 엔드포인트별 응답 시간 / 오류 수 집계
+public class LatencyRecorder {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        histograms.computeIfAbsent(endpoint, k -> new ConcurrentHistogram(MAX_LATENCY_NANOS, 3))
+                .recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        if (!success) {
+            errors.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+        }
+    }
+
+    public void report(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toMillis() / 1000.0;
+        out.printf("%n%-22s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)");
+        histograms.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    Histogram h = entry.getValue();
+                    long count = h.getTotalCount();
+                    long errorCount = errors.getOrDefault(entry.getKey(), new LongAdder()).sum();
+                    out.printf("%-22s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                            entry.getKey(), count, errorCount, count / seconds,
+                            millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                            millis(h.getValueAtPercentile(99)), millis(h.getMaxValue()));
+                });
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
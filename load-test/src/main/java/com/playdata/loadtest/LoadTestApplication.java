@@ -0,0 +1,77 @@
+package com.playdata.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+    로컬 부하 테스트 실행기
+
+    1. 내장 인프라 (H2, Redis, AMQP 브로커) 기동
+    2. user -> product -> ordering -> gateway 순서로 서비스 프로세스 기동
+    3. 상품 데이터 준비
+    4. 가상 사용자 N명이 정해진 시간 동안 CheckoutScenario 반복
+    5. 엔드포인트별 처리량, 지연시간 백분위 출력
+
+    실행: sh gradlew bootJars && sh gradlew run -Ploadtest.users=50 -Ploadtest.duration-seconds=120
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        log.info("load test config: {}", config);
+
+        try (StandIns standIns = new StandIns(config);
+             ServiceLauncher launcher = new ServiceLauncher(config)) {
+            standIns.start();
+
+            launcher.start("user-service", 8081);
+            launcher.start("product-service", 8082);
+            launcher.start("ordering-service", 8083, 8183);
+            launcher.start("gateway-service", 8000);
+
+            ProductSeeder.seed(config);
+
+            run(config);
+        }
+    }
+
+    private static void run(LoadTestConfig config) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        LatencyRecorder recorder = new LatencyRecorder();
+        ExecutorService users = Executors.newFixedThreadPool(config.users());
+
+        long start = System.nanoTime();
+        long deadline = start + config.duration().toNanos();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < config.users(); i++) {
+            CheckoutScenario scenario = new CheckoutScenario(config, httpClient, recorder, i);
+            futures.add(users.submit(() -> {
+                scenario.login();
+                while (System.nanoTime() < deadline) {
+                    scenario.iterate();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                log.error("virtual user failed: {}", e.getMessage());
+            }
+        }
+        users.shutdown();
+
+        recorder.report(System.out, Duration.ofNanos(System.nanoTime() - start));
+    }
+}
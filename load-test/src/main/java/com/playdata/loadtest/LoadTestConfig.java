@@ -0,0 +1,29 @@
+package com.playdata.loadtest;
+
+import java.time.Duration;
+
+// 부하 테스트 설정 (-Dloadtest.users=50 처럼 시스템 프로퍼티로 변경)
+public record LoadTestConfig(
+        int users,
+        Duration duration,
+        int products,
+        int h2Port,
+        int redisPort,
+        int amqpPort,
+        String gatewayUrl,
+        String serviceExtras
+) {
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.users", 20),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                Integer.getInteger("loadtest.products", 100),
+                Integer.getInteger("loadtest.h2-port", 9092),
+                Integer.getInteger("loadtest.redis-port", 6380),
+                Integer.getInteger("loadtest.amqp-port", 5673),
+                System.getProperty("loadtest.gateway-url", "http://localhost:8000"),
+                System.getProperty("loadtest.serviceExtras", "")
+        );
+    }
+}
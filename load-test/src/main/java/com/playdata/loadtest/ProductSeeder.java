@@ -0,0 +1,34 @@
+package com.playdata.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+
+// 시나리오에서 주문할 상품을 product-service DB(H2)에 직접 넣음
+// (상품 등록 API는 S3 업로드가 필요해서 로컬에서 사용할 수 없음)
+@Slf4j
+public class ProductSeeder {
+
+    private static final int STOCK = 1_000_000;
+
+    public static void seed(LoadTestConfig config) throws Exception {
+        String url = "jdbc:h2:tcp://localhost:" + config.h2Port() + "/mem:product;MODE=MySQL";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO tbl_product (name, category, price, stock_quantity, image_path, stock_mode, " +
+                             "create_time, update_time) VALUES (?, ?, ?, ?, ?, 'DB', NOW(), NOW())")) {
+            for (int i = 1; i <= config.products(); i++) {
+                insert.setString(1, "load-test-product-" + i);
+                insert.setString(2, "category-" + (i % 10));
+                insert.setInt(3, 1000 + i);
+                insert.setInt(4, STOCK);
+                insert.setString(5, "https://example.com/product-" + i + ".png");
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        log.info("{} products seeded", config.products());
+    }
+}
@@ -0,0 +1,134 @@
+package com.playdata.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+/*
+    각 서비스의 실행 jar(bootJar)를 로컬 프로세스로 띄움
+
+    - config-service 대신 config/<서비스명>.yml을 추가 설정으로 사용
+    - PropertiesLauncher의 loader.path로 H2 드라이버를 classpath에 추가 (서비스 jar는 수정하지 않음)
+    - 서비스 로그는 build/logs/<서비스명>.log
+    - readiness가 UP이 될 때(ApplicationReadyEvent, 스케줄러/리스너까지 시작된 뒤)까지 기다림
+      (/actuator/health는 톰캣만 떠도 UP이라 기동이 끝나기 전에 부하가 시작될 수 있음)
+ */
+@Slf4j
+public class ServiceLauncher implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final LoadTestConfig config;
+    private final List<Process> processes = new ArrayList<>();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    public ServiceLauncher(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public void start(String service, int port) throws Exception {
+        start(service, port, port);
+    }
+
+    // actuator를 별도 포트(management.server.port)로 여는 서비스는 그 포트로 readiness 확인
+    public void start(String service, int port, int managementPort) throws Exception {
+        Path jar = findJar(service);
+        Path logFile = Path.of("build", "logs", service + ".log");
+        Files.createDirectories(logFile.getParent());
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Dloader.path=" + config.serviceExtras().replace(File.pathSeparator, ","));
+        command.add("-Dspring.cloud.config.enabled=false");
+        command.add("-Dmanagement.endpoint.health.probes.enabled=true");
+        command.add("-Dloadtest.h2-port=" + config.h2Port());
+        command.add("-Dloadtest.redis-port=" + config.redisPort());
+        command.add("-Dloadtest.amqp-port=" + config.amqpPort());
+        command.add("-cp");
+        command.add(jar.toString());
+        command.add(propertiesLauncher(jar));
+        command.add("--spring.config.additional-location=file:config/" + service + ".yml");
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        processes.add(process);
+        log.info("{} starting (pid {}), log: {}", service, process.pid(), logFile);
+
+        waitUntilHealthy(service, port, managementPort, process, logFile);
+    }
+
+    private Path findJar(String service) throws IOException {
+        Path libs = Path.of("..", service, "build", "libs");
+        if (!Files.isDirectory(libs)) {
+            throw new IllegalStateException(service + " jar가 없습니다. 먼저 sh gradlew bootJars 를 실행하세요.");
+        }
+        try (var files = Files.list(libs)) {
+            return files.filter(f -> f.toString().endsWith(".jar") && !f.toString().endsWith("-plain.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException(service + " jar가 없습니다. 먼저 sh gradlew bootJars 를 실행하세요."));
+        }
+    }
+
+    // Boot 버전에 따라 런처 패키지가 다르므로 jar의 Main-Class(JarLauncher)를 기준으로 찾음
+    private String propertiesLauncher(Path jar) throws IOException {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            String mainClass = jarFile.getManifest().getMainAttributes().getValue("Main-Class");
+            return mainClass.replace("JarLauncher", "PropertiesLauncher");
+        }
+    }
+
+    private void waitUntilHealthy(String service, int port, int managementPort, Process process, Path logFile) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + managementPort + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(service + " 프로세스가 종료되었습니다. 로그: " + logFile);
+            }
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    log.info("{} is up on port {}", service, port);
+                    return;
+                }
+            } catch (IOException e) {
+                // 아직 기동 중
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException(service + " 기동 시간 초과. 로그: " + logFile);
+    }
+
+    @Override
+    public void close() {
+        // 나중에 뜬 서비스부터 종료
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            Process process = processes.get(i);
+            process.destroy();
+            try {
+                if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
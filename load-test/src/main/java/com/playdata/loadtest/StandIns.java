@@ -0,0 +1,72 @@
+package com.playdata.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.qpid.server.SystemLauncher;
+import org.h2.tools.Server;
+import redis.embedded.RedisServer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+    클러스터에 있는 인프라를 대신하는 내장 서버들
+
+    MySQL    -> H2 TCP 서버 (각 서비스가 MODE=MySQL로 접속, 서비스마다 별도 메모리 DB)
+    Redis    -> embedded-redis
+    RabbitMQ -> Qpid Broker-J (AMQP 0-9-1, 메모리 저장소)
+ */
+@Slf4j
+public class StandIns implements AutoCloseable {
+
+    private final LoadTestConfig config;
+
+    private Server h2;
+    private RedisServer redis;
+    private SystemLauncher broker;
+
+    public StandIns(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public void start() throws Exception {
+        h2 = Server.createTcpServer(
+                "-tcpPort", String.valueOf(config.h2Port()), "-tcpAllowOthers", "-ifNotExists").start();
+        log.info("H2 started: {}", h2.getURL());
+
+        redis = new RedisServer(config.redisPort());
+        redis.start();
+        log.info("Redis started: port {}", config.redisPort());
+
+        broker = new SystemLauncher();
+        broker.startup(brokerAttributes());
+        log.info("AMQP broker started: port {}", config.amqpPort());
+    }
+
+    private Map<String, Object> brokerAttributes() {
+        Map<String, Object> context = new HashMap<>();
+        context.put("qpid.amqp_port", config.amqpPort());
+        context.put("qpid.work_dir", System.getProperty("java.io.tmpdir") + "/load-test-broker");
+        // RabbitMQ 전용 큐 인자(x-message-ttl, Spring Cloud Bus 익명 큐의 x-queue-master-locator 등)를
+        // Qpid는 기본적으로 거부해서 서비스의 리스너가 뜨지 못함 -> 모르는 인자는 무시
+        context.put("queue.behaviourOnUnknownDeclareArgument", "IGNORE");
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("type", "Memory");
+        attributes.put("initialConfigurationLocation",
+                StandIns.class.getResource("/broker-config.json").toExternalForm());
+        attributes.put("startupLoggedToSystemOut", false);
+        attributes.put("context", context);
+        return attributes;
+    }
+
+    @Override
+    public void close() {
+        if (broker != null) broker.shutdown();
+        try {
+            if (redis != null) redis.stop();
+        } catch (Exception e) {
+            log.warn("Redis stop failed: {}", e.getMessage());
+        }
+        if (h2 != null) h2.stop();
+    }
+}
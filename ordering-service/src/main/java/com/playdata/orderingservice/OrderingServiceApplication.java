@@ -2,6 +2,7 @@ package com.playdata.orderingservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -9,6 +10,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 // feign 클라이언트를 사용하는 서비스에 추가
 @EnableFeignClients
 @EnableScheduling
+// 상품/회원 변경 이벤트(ProductChangedEvent, UserChangedEvent)를 bus로 받기 위해 등록
+@RemoteApplicationEventScan(basePackages = "com.playdata.orderingservice.common.event")
 public class OrderingServiceApplication {
 
 	public static void main(String[] args) {
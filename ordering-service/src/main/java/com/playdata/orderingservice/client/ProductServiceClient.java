@@ -1,6 +1,7 @@
 package com.playdata.orderingservice.client;
 
 import com.playdata.orderingservice.common.dto.CommonResDTO;
+import com.playdata.orderingservice.ordering.dto.OrderingSaveReqDTO;
 import com.playdata.orderingservice.ordering.dto.ProductResDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
@@ -9,7 +10,8 @@ import java.util.Map;
 
 import java.util.List;
 
-@FeignClient(name = "product-service", url = "http://product-service.default.svc.cluster.local:8082")
+@FeignClient(name = "product-service",
+        url = "${clients.product-service.url:http://product-service.default.svc.cluster.local:8082}")
 public interface ProductServiceClient {
 
     @GetMapping("/product/{prodId}")
@@ -18,9 +20,17 @@ public interface ProductServiceClient {
     @PostMapping("/product/updateQuantity")
     ResponseEntity<?> updateQuantity(@RequestBody ProductResDTO productResDTO); // 상품 재고 최신화 메소드
 
+    // 조건부 재고 차감 (남은 재고를 리턴, 재고 부족 시 400)
+    @PostMapping("/product/decreaseQuantity")
+    CommonResDTO<Integer> decreaseQuantity(@RequestBody OrderingSaveReqDTO dto);
+
     @PostMapping("/product/products")
     CommonResDTO<List<ProductResDTO>> getProducts(@RequestBody List<Long> productIds);
 
+    // 주문 상품 전체의 재고 확인 + 차감을 한 번에 요청 (product-service에서 하나의 트랜잭션으로 처리)
+    @PostMapping("/product/reserve")
+    CommonResDTO<List<ProductResDTO>> reserveProducts(@RequestBody List<OrderingSaveReqDTO> dtoList);
+
     @PutMapping("/product/cancel")
     ResponseEntity<?> cancelProduct(@RequestBody Map<Long, Integer> map);
 
@@ -11,5 +11,6 @@ public class TokenUserInfo {
 
     private String email;
     private Role role;
+    private Long userId; // 회원 번호 (gateway가 X-User-Id로 전달, 예전 토큰이면 null)
 
 }
@@ -0,0 +1,43 @@
+package com.playdata.orderingservice.common.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // 주문 상품 정보를 product-service에 동시에 조회할 때 사용하는 스레드 풀
+    // Java 17 기준이라 가상 스레드 대신 크기가 정해진 풀을 사용함.
+    // (toolchain을 21로 올리면 Executors.newVirtualThreadPerTaskExecutor()로 교체 가능)
+    @Bean
+    public ThreadPoolTaskExecutor productLookupExecutor(
+            @Value("${ordering.product.lookup-pool-size:16}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(poolSize * 10);
+        executor.setThreadNamePrefix("product-lookup-");
+        // 풀과 큐가 모두 찼을 때는 요청 스레드가 직접 조회 -> 순차 처리와 같아질 뿐 요청이 버려지지 않음
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // 관리자 SSE 연결별 발송 대기열을 비우는 스레드 풀 (AdminSseService)
+    // 연결 하나당 동시에 하나의 작업만 등록되므로 대기 작업 수는 연결 수를 넘지 않음
+    @Bean
+    public ThreadPoolTaskExecutor sseSendExecutor(
+            @Value("${ordering.sse.writer-pool-size:8}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("sse-send-");
+        executor.initialize();
+        return executor;
+    }
+
+}
@@ -56,15 +56,8 @@ public class RabbitMQConfig {
                 .build();
     }
 
-    // 대기 알림용 큐 (알림 전송 대상 관리자가 없을 시 메시지 누적)
-    @Bean
-    public Queue pendingNotificationQueue() {
-
-        return QueueBuilder.durable("admin.pending.notifications")
-                .withArgument("x-message=ttl", 86400000)   // 1000 * 60 * 60 * 24
-                .build();
-
-    }
+    // 관리자가 없을 때 알림을 쌓아두던 대기 큐(admin.pending.notifications)는
+    // Redis 알림 보관소(OrderEventReplayStore)로 대체됨
 
     @Bean
     public Binding adminNotificationBinding() {
@@ -0,0 +1,60 @@
+package com.playdata.orderingservice.common.configs;
+
+import com.playdata.orderingservice.ordering.controller.ReactiveSseHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/*
+    논블로킹 SSE 전용 서버 (Reactor Netty, 서블릿 포트와 별도)
+
+    서비스는 spring-boot-starter-web(Tomcat)으로 동작하므로 WebFlux 엔드포인트를 같은 포트에 올릴 수 없음.
+    -> 함수형 엔드포인트(ReactiveSseHandler)만 별도 포트(ordering.sse.reactive.port)에 띄움
+    -> gateway: /ordering-service/reactive/** 를 이 포트로 전달
+
+    스레드: accept 1개 + 이벤트 루프 worker-threads개 (연결 수와 관계없이 고정)
+
+    이 포트는 gateway를 거치지 않으면 X-User-Email 헤더를 그대로 믿음
+    -> gateway만 접근할 수 있어야 함 (NetworkPolicy 등으로 gateway 외의 접근 차단,
+       gateway와 같은 호스트라면 address를 127.0.0.1 같은 내부 주소로 지정)
+ */
+@Configuration
+@ConditionalOnProperty(name = "ordering.sse.reactive.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ReactiveSseConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources reactiveSseLoopResources(
+            @Value("${ordering.sse.reactive.worker-threads:2}") int workerThreads) {
+        return LoopResources.create("sse-reactive", 1, workerThreads, true);
+    }
+
+    @Bean(destroyMethod = "disposeNow")
+    public DisposableServer reactiveSseServer(ReactiveSseHandler handler,
+                                              LoopResources reactiveSseLoopResources,
+                                              @Value("${ordering.sse.reactive.address:0.0.0.0}") String address,
+                                              @Value("${ordering.sse.reactive.port:8093}") int port) {
+        DisposableServer server = startServer(handler.routes(), reactiveSseLoopResources, address, port);
+        log.info("논블로킹 SSE 서버 시작: {}:{}", address, server.port());
+        return server;
+    }
+
+    public static DisposableServer startServer(RouterFunction<ServerResponse> routes,
+                                               LoopResources loopResources, String address, int port) {
+        return HttpServer.create()
+                .host(address)
+                .port(port)
+                .runOn(loopResources)
+                .handle(new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(routes)))
+                .bindNow();
+    }
+}
@@ -3,6 +3,7 @@ package com.playdata.orderingservice.common.configs;
 import com.playdata.orderingservice.common.auth.JwtAuthFilter;
 import com.playdata.orderingservice.common.exception.CustomAuthenticationEntryPoint;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -25,6 +26,10 @@ public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
 
+    // actuator 전용 포트 (gateway가 라우팅하지 않는 포트)
+    @Value("${management.server.port}")
+    private int managementPort;
+
     // 시큐리티 기본 설정 (권한 처리, 초기 로그인 화면 없애기 등등...)
     @Bean // 이 메서드가 리턴하는 시큐리티 설정을 빈으로 등록하겠다.
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -43,7 +48,9 @@ public class SecurityConfig {
         http.authorizeHttpRequests(auth -> {
             auth
 //                    .requestMatchers("/user/list").hasRole("ROLE_ADMIN")
-                    .requestMatchers("/actuator/**", "/demo/**", "/subscribe").permitAll()
+                    // actuator는 management 포트로 들어온 요청만 허용 (서비스 포트에는 /livez, /readyz만 둠)
+                    .requestMatchers(request -> request.getLocalPort() == managementPort).permitAll()
+                    .requestMatchers("/livez", "/readyz", "/demo/**", "/subscribe").permitAll()
                     .anyRequest().authenticated();
         });
         // "/user/create", "/user/doLogin"은 인증 검사가 필요 없다고 설정했고,
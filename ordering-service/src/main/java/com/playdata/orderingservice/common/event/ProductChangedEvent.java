@@ -0,0 +1,28 @@
+package com.playdata.orderingservice.common.event;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/*
+    상품 등록/삭제 시 spring-cloud-bus(RabbitMQ)로 전파되는 이벤트
+    product-service가 발행하고, ordering-service가 받아서 상품명 캐시를 비움.
+    (bus는 클래스 이름으로 이벤트 타입을 구분하므로 두 서비스의 클래스 이름과 필드가 같아야 함)
+ */
+@Getter @Setter @ToString
+@NoArgsConstructor
+public class ProductChangedEvent extends RemoteApplicationEvent {
+
+    private Long productId;
+    private String changeType; // CREATED, DELETED
+
+    public ProductChangedEvent(Object source, String originService, Destination destination,
+                               Long productId, String changeType) {
+        super(source, originService, destination);
+        this.productId = productId;
+        this.changeType = changeType;
+    }
+}
@@ -0,0 +1,25 @@
+package com.playdata.orderingservice.common.event;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/*
+    회원 정보 변경 시 spring-cloud-bus(RabbitMQ)로 전파되는 이벤트
+    user-service가 발행하고, ordering-service가 받아서 회원 캐시를 비움.
+    (bus는 클래스 이름으로 이벤트 타입을 구분하므로 두 서비스의 클래스 이름과 필드가 같아야 함)
+ */
+@Getter @Setter @ToString
+@NoArgsConstructor
+public class UserChangedEvent extends RemoteApplicationEvent {
+
+    private String email;
+
+    public UserChangedEvent(Object source, String originService, Destination destination, String email) {
+        super(source, originService, destination);
+        this.email = email;
+    }
+}
@@ -2,7 +2,7 @@ package com.playdata.orderingservice.ordering.controller;
 
 import com.playdata.orderingservice.common.auth.TokenUserInfo;
 import com.playdata.orderingservice.common.dto.CommonResDTO;
-import com.playdata.orderingservice.ordering.dto.OrderingListResDTO;
+import com.playdata.orderingservice.ordering.dto.OrderingPageResDTO;
 import com.playdata.orderingservice.ordering.dto.OrderingSaveReqDTO;
 import com.playdata.orderingservice.ordering.entity.Ordering;
 import com.playdata.orderingservice.ordering.service.OrderingService;
@@ -42,12 +42,15 @@ public class OrderingController {
     }
 
     // 내 주문만 볼 수 있는 MyOrders
+    // 최신 주문부터 size개씩, 다음 페이지는 응답의 nextCursor를 cursor로 넘겨서 요청
     @GetMapping("/my-order")
     public ResponseEntity<?> myOrder(
-            @AuthenticationPrincipal TokenUserInfo userInfo) {
-        List<OrderingListResDTO> dtos = orderingService.myOrder(userInfo);
-        CommonResDTO<List<OrderingListResDTO>> resDto
-                = new CommonResDTO<>(HttpStatus.OK, "정상 조회 완료", dtos);
+            @AuthenticationPrincipal TokenUserInfo userInfo,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        OrderingPageResDTO page = orderingService.myOrder(userInfo, cursor, size);
+        CommonResDTO<OrderingPageResDTO> resDto
+                = new CommonResDTO<>(HttpStatus.OK, "정상 조회 완료", page);
         return ResponseEntity.ok().body(resDto);
     }
 
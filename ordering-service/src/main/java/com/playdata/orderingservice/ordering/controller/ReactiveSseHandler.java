@@ -0,0 +1,133 @@
+package com.playdata.orderingservice.ordering.controller;
+
+import com.playdata.orderingservice.ordering.service.AdminSseService;
+import com.playdata.orderingservice.ordering.service.OrderEventReplayStore;
+import com.playdata.orderingservice.ordering.service.SseEventBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+/*
+    논블로킹 관리자 알림 SSE (WebFlux 함수형 엔드포인트, reactive 포트에서 동작 -> ReactiveSseConfig)
+
+    SseController(/subscribe, 서블릿)는 연결마다 Tomcat 커넥션과 비동기 요청을 하나씩 붙잡고 있음.
+    여기서는 연결이 Reactor Netty 이벤트 루프(스레드 몇 개)에 묶인 채널일 뿐이라,
+    대기만 하는 구독자가 수만 개여도 스레드 수는 그대로임.
+
+    [Rabbit 리스너] -> AdminSseService.broadcast -> Sinks.Many -> 구독자마다 대기열 -> Netty 채널
+    - 이벤트 형식(connect, pending-order, new-order, id, heartbeat)은 서블릿 /subscribe와 같음
+    - 인증은 gateway가 넣어주는 X-User-Email 헤더로 확인 (JwtAuthFilter와 같은 방식)
+ */
+@Component
+@Slf4j
+public class ReactiveSseHandler {
+
+    private final AdminSseService adminSseService;
+    private final OrderEventReplayStore replayStore;
+    private final Counter rejected;
+    private final Duration heartbeatInterval;
+    private final int maxConnections;
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public ReactiveSseHandler(AdminSseService adminSseService,
+                              OrderEventReplayStore replayStore,
+                              MeterRegistry meterRegistry,
+                              @Value("${ordering.sse.heartbeat-interval:15000}") long heartbeatIntervalMillis,
+                              @Value("${ordering.sse.reactive.max-connections:20000}") int maxConnections) {
+        this.adminSseService = adminSseService;
+        this.replayStore = replayStore;
+        this.heartbeatInterval = Duration.ofMillis(heartbeatIntervalMillis);
+        this.maxConnections = maxConnections;
+
+        Gauge.builder("sse.reactive.connections", connections, AtomicInteger::get)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("sse.connections.rejected")
+                .tag("server", "reactive")
+                .register(meterRegistry);
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route(GET("/subscribe"), this::subscribe);
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    private Mono<ServerResponse> subscribe(ServerRequest request) {
+        String userEmail = request.headers().firstHeader("X-User-Email");
+        if (userEmail == null) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (connections.get() >= maxConnections) {
+            rejected.increment();
+            log.warn("논블로킹 SSE 최대 연결 수({}) 초과 - 구독 거절: {}", maxConnections, userEmail);
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+
+        String lastEventId = request.headers().firstHeader("Last-Event-ID");
+
+        Flux<ServerSentEvent<String>> connect = Flux.just(ServerSentEvent.<String>builder()
+                .event("connect")
+                .data("SSE connected")
+                .build());
+
+        // 이어받을 수 있으면 놓친 이벤트, 아니면 보관소의 최근 알림(pending-order) + 실시간 이벤트
+        // 최근 알림 조회 도중 들어온 새 주문 알림(publish)은 최근 알림에서 빼고 실시간으로만 보냄 -> 같은 주문이 두 번 가지 않음
+        // (Redis 조회는 블로킹이라 이벤트 루프 밖에서 구독)
+        Flux<ServerSentEvent<String>> live = adminSseService.stream(lastEventId, replayStore::recent)
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ReactiveSseHandler::toEvent);
+
+        // heartbeat: 끊긴 연결은 쓰기 실패로 바로 정리됨 (Netty가 채널 종료 -> 구독 취소)
+        Flux<ServerSentEvent<String>> heartbeat = Flux.interval(heartbeatInterval, heartbeatInterval)
+                .map(tick -> ServerSentEvent.<String>builder().comment("heartbeat").build());
+
+        // connect가 실시간 구독보다 먼저 나갈 수 있지만, 구독 시점까지의 알림은 최근 알림(보관소)에 들어 있음
+        Flux<ServerSentEvent<String>> body = Flux.merge(connect, live, heartbeat)
+                .doOnSubscribe(subscription -> {
+                    connections.incrementAndGet();
+                    log.debug("논블로킹 SSE 구독 시작: {}", userEmail);
+                })
+                .doFinally(signal -> {
+                    connections.decrementAndGet();
+                    log.debug("논블로킹 SSE 연결 종료: {} ({})", userEmail, signal);
+                });
+
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(BodyInserters.fromServerSentEvents(body));
+    }
+
+    // 이미 직렬화된 JSON 문자열 -> 그대로 data 줄로 전송됨
+    private static ServerSentEvent<String> toEvent(SseEventBuffer.BufferedEvent event) {
+        return ServerSentEvent.<String>builder()
+                .id(event.id())
+                .event(event.name())
+                .data(event.json())
+                .build();
+    }
+}
@@ -1,20 +1,25 @@
 package com.playdata.orderingservice.ordering.controller;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.playdata.orderingservice.common.auth.TokenUserInfo;
 import com.playdata.orderingservice.ordering.dto.OrderNotificationEvent;
+import com.playdata.orderingservice.ordering.service.AdminSseService;
+import com.playdata.orderingservice.ordering.service.OrderEventReplayStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -32,100 +37,60 @@ public class SseController {
     새 주문 -> RabbitMQ Queue -> 인스턴스 1, 2, 3은 동시에 동일한 메시지 수신
     각 인스턴스는 자기와 연결된 관리자만 신경쓰면 됨 -> 관리자가 여러 명일 수 있으니 그들을 Map으로 관리하자!!!
      */
-    private final ConcurrentHashMap<String, SseEmitter> activeConnections = new ConcurrentHashMap<>();
+    // 연결 관리와 발송은 AdminSseService가 담당 (연결마다 발송 대기열을 따로 가짐)
+    private final AdminSseService adminSseService;
 
-    private final RabbitTemplate rabbitTemplate;
+    // 최근 주문 알림 보관소 (Redis) - 구독 시 밀린 알림을 한 번에 읽어옴
+    private final OrderEventReplayStore replayStore;
+
+    // 연결 최대 유지 시간 -> 지나면 서버가 끊고, 브라우저(EventSourcePolyfill)가 Last-Event-ID로 재연결해서 이어받음
+    // 0을 주면 타임아웃이 무한대 (죽은 연결이 heartbeat 정리 전까지 남아있게 됨)
+    @Value("${ordering.sse.emitter-timeout:30m}")
+    private Duration emitterTimeout;
 
     @GetMapping("/subscribe")
-    public SseEmitter subscribe(@AuthenticationPrincipal TokenUserInfo userInfo) {
+    public ResponseEntity<SseEmitter> subscribe(@AuthenticationPrincipal TokenUserInfo userInfo,
+                                                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
         String userEmail = userInfo.getEmail();
 
-        // 매우 긴 타임아웃 설정 (5시간) - EventSourcePolyfill이 알아서 재연결함
-        SseEmitter emitter = new SseEmitter(0L); // 0을 주면, 타임아웃이 무한대임.
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
 
         log.info("SSE 구독 시작: {}", userEmail);
 
         try {
-            // 기존 연결이 있다면 정리
-            SseEmitter oldEmitter = activeConnections.put(userEmail, emitter);
-            if (oldEmitter != null) {
-                try {
-                    oldEmitter.complete();
-                } catch (Exception e) {
-                    // 무시
-                }
+            // 같은 관리자의 다른 탭 연결은 그대로 유지됨
+            // 재연결이면 놓친 이벤트를 최근 이벤트 버퍼에서 다시 보냄
+            // 처음 연결(또는 이어받기 불가)일 때만 최근 알림들 한번에 전송 (이어받은 재연결은 버퍼로 충분함)
+            // 최근 알림 조회 도중 들어온 새 주문 알림(publish)은 최근 알림에서 빼고 실시간으로만 보냄 -> 같은 주문이 두 번 가지 않음
+            AdminSseService.Subscription subscription =
+                    adminSseService.connect(userEmail, emitter, lastEventId, () -> recentNotifications(userEmail));
+            if (subscription == null) {
+                // 인스턴스의 최대 연결 수 초과 -> 잠시 후 재연결 (로드밸런서가 다른 인스턴스로 보낼 수 있음)
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .build();
             }
 
-            // 연결 확인 메시지만 전송
-            emitter.send(SseEmitter.event()
-                    .name("connect")
-                    .data("SSE connected"));
-
-            // 로그인 시 대기중인 알림들 한번에 전송
-
-            sendPendingNotifications(emitter, userEmail);
-
-            // 연결 종료 시 정리 - 매우 간단하게
-            emitter.onCompletion(() -> {
-                activeConnections.remove(userEmail);
-                log.info("SSE 연결 정상 종료: {}", userEmail);
-            });
-
-            emitter.onTimeout(() -> {
-                activeConnections.remove(userEmail);
-                log.info("SSE 연결 타임아웃: {}", userEmail);
-            });
-
-            emitter.onError((ex) -> {
-                activeConnections.remove(userEmail);
-                // Broken pipe는 DEBUG 레벨로
-                if (ex.getMessage() != null && ex.getMessage().contains("Broken pipe")) {
-                    log.debug("SSE 연결 끊김 (클라이언트 종료): {}", userEmail);
-                } else {
-                    log.info("SSE 연결 오류: {} - {}", userEmail, ex.getMessage());
-                }
-            });
-
         } catch (Exception e) {
             log.error("SSE 초기화 실패: {}", userEmail, e);
-            activeConnections.remove(userEmail);
+            emitter.completeWithError(e);
         }
 
-        return emitter;
+        return ResponseEntity.ok(emitter);
     }
 
-    private void sendPendingNotifications(SseEmitter emitter, String userEmail) {
-
-        try {
-
-            int count = 0;
-            Object message;
-
-            while ( // pending Queue에서 메시지를 하나 가져왔을 때, 결과가 null이 아니라면 반복문 실행, null이면 반복문 종료
-                    (message = rabbitTemplate.receiveAndConvert("admin.pending.notifications")) != null) {
-
-                if (message instanceof OrderNotificationEvent) {
-                    emitter.send(SseEmitter.event()
-                            .name("pending-order")
-                            .data(message));
-                    count++;
-                }
-
-                if(count >= 100) break;
-            }
+    private List<OrderNotificationEvent> recentNotifications(String userEmail) {
 
-            if(count > 0) {
-                log.info("관리자 {}, 대기중인 {}개 주문 발송함.", userEmail, count);
-            }
-            else {
-                log.info("대기중인 알림 없음!");
-            }
+        // Redis 조회 한 번으로 보관된 최근 알림을 모두 가져옴 (읽어도 지워지지 않음 -> 다른 관리자도 똑같이 받음)
+        // pending-order 이벤트로 전송됨
+        List<OrderNotificationEvent> recent = replayStore.recent();
 
+        if (!recent.isEmpty()) {
+            log.info("관리자 {}, 최근 {}개 주문 발송함.", userEmail, recent.size());
+        } else {
+            log.info("대기중인 알림 없음!");
         }
-        catch (Exception e) {
-            log.error("대기중인 알림 전송 실패: {}", e);
-        }
-
+        return recent;
     }
 
     /*
@@ -143,58 +108,11 @@ public class SseController {
         // json 문자열을 직접 DTO로 변환할 필요가 없고, 매개값으로 선언해서 받을 수 있음
         // RabbitListener가 변환 해줌 -> Listener가 converter를 내장하고 있음.
 
-        // 활성화된 sse 연결이 없으면 즉시 종료 -> 관리자가 한 명도 접속을 하지 않고 있는 상태
-        if (activeConnections.isEmpty()) {
-            rabbitTemplate.convertAndSend("admin.pending.notifications", event);
-            log.info("활성화된 관리자가 없음 - 대기 큐로 전송, 주문: {}", event.getOrderId());
-            return;
-        }
-
-        try {
-            log.info("수신된 메시지 객체: {}", event);
-
-            log.info("새 주문 알림 - 활성 관리자: {}", activeConnections.size());
-
-            // 안전하게 메시지 전송
-            /*
-            entrySet(): Map에 있는 데이터를 Entry(사용자 email + emitter 객체) 타입으로 묶음
-
-            removeIf(): true를 반환하면 -> 해당 entry를 Map에서 제거
-                        false를 반환하면 -> 해당 entry를 Map에 유지
-
-            Map에 있는 Entry를 하나씩 순회하면서 연결된 모든 관리자에게 알림을 전송하는 로직 작성
-            */
-            activeConnections.entrySet().removeIf(entry -> {
-                try {
-                    entry.getValue().send(SseEmitter.event()
-                            .name("new-order")
-                            .data(event));
-                    return false; // 전송 성공
-                } catch (Exception e) {
-                    log.debug("알림 전송 실패 (연결 제거): {}", entry.getKey());
-                    try {
-                        entry.getValue().complete();
-                    } catch (Exception ignored) {}
-                    return true; // 전송 실패 - 제거
-                }
-            });
-
-            if (activeConnections.isEmpty()) {
-                rabbitTemplate.convertAndSend("admin.pending.notifications", event);
-                log.info("활성화된 관리자가 없음 - 대기 큐로 전송, 주문: {}", event.getOrderId());
-            }
-
-
-        } catch (Exception e) {
-            log.error("주문 알림 처리 실패", e);
-        }
-
-        // 전송을 하고 나서도 체크 -> 처음 시작부에서는 문제가 없지만, 전송 과정에서 연결이 실패하는 경우에
-        // 대기 큐로 메시지를 보내기 위해서
-        if (activeConnections.isEmpty()) {
-            rabbitTemplate.convertAndSend("admin.pending.notifications", event);
-            log.info("활성화된 관리자가 없음 - 대기 큐로 전송, 주문: {}", event.getOrderId());
-        }
+        // 접속 중인 관리자가 없어도 보관소에 남아서, 나중에 구독하는 관리자가 받음
+        // 리스너 스레드는 연결마다 대기열에 넣기만 함 -> 느린 관리자가 있어도 다음 메시지를 바로 처리
+        // 보관소 저장 후 broadcast (저장 도중에 구독한 관리자에게도 보관분과 실시간으로 두 번 가지 않음)
+        int delivered = adminSseService.publish("new-order", event, () -> replayStore.save(event));
+        log.info("새 주문 알림 - 전송 대상 연결: {}, 주문: {}", delivered, event.getOrderId());
 
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.playdata.orderingservice.ordering.controller;
+
+import com.playdata.orderingservice.ordering.service.AdminSseService;
+import com.playdata.orderingservice.ordering.service.SseConnection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+    /actuator/sse - 현재 인스턴스의 관리자 SSE 연결 상태
+
+    connections: 연결 수 / maxConnections: 최대 연결 수
+    queuedBytes: 발송 대기열이 들고 있는 이벤트 크기 합계, replayBufferBytes: 재연결용 버퍼 크기
+    details: 연결별 관리자, 연결 시각, 대기 이벤트 수, 마지막 전송 후 지난 시간
+ */
+@Component
+@Endpoint(id = "sse")
+@RequiredArgsConstructor
+public class SseEndpoint {
+
+    private final AdminSseService adminSseService;
+
+    @ReadOperation
+    public Map<String, Object> sse() {
+        long now = System.currentTimeMillis();
+        List<SseConnection> connections = adminSseService.connections();
+
+        List<Map<String, Object>> details = connections.stream()
+                .map(connection -> {
+                    Map<String, Object> detail = new LinkedHashMap<>();
+                    detail.put("id", connection.getId());
+                    detail.put("user", connection.getUserEmail());
+                    detail.put("connectedAt", connection.getConnectedAt());
+                    detail.put("queueDepth", connection.queueDepth());
+                    detail.put("queuedBytes", connection.queuedBytes());
+                    detail.put("millisSinceLastWrite", connection.millisSinceLastWrite(now));
+                    return detail;
+                })
+                .toList();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("connections", connections.size());
+        result.put("maxConnections", adminSseService.getMaxConnections());
+        result.put("queuedBytes", (long) adminSseService.queuedBytes());
+        result.put("replayBufferBytes", adminSseService.replayBufferBytes());
+        result.put("details", details);
+        return result;
+    }
+}
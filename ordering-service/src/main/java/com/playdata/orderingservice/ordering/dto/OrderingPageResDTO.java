@@ -0,0 +1,21 @@
+package com.playdata.orderingservice.ordering.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+// 주문 내역 한 페이지 (커서 기반)
+@Getter @Setter
+@ToString @NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderingPageResDTO {
+
+    private List<OrderingListResDTO> orders;
+
+    // 다음 페이지 요청 시 cursor로 넘길 값 (이번 페이지의 마지막 주문 번호, 마지막 페이지면 null)
+    private Long nextCursor;
+
+    private boolean hasNext;
+
+}
@@ -0,0 +1,46 @@
+package com.playdata.orderingservice.ordering.entity;
+
+import com.playdata.orderingservice.common.entity.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/*
+    주문 알림 outbox
+
+    주문 저장과 같은 트랜잭션에서 "보낼 메시지"를 이 테이블에 기록만 해두고,
+    실제 RabbitMQ 발송은 OrderOutboxRelay가 따로 모아서 처리함.
+    -> 주문이 롤백되면 메시지도 같이 사라지고, 주문 처리가 브로커 응답을 기다리지 않음.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+@Entity
+@Table(name = "order_outbox",
+        indexes = @Index(name = "idx_order_outbox_published", columnList = "published_at, id"))
+public class OrderOutbox extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long orderId;
+
+    private String exchange;
+
+    private String routingKey;
+
+    // 발송할 이벤트를 JSON 문자열로 저장
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    // 발송 완료 시각 (null이면 아직 발송 전)
+    private LocalDateTime publishedAt;
+
+    public void markPublished() {
+        this.publishedAt = LocalDateTime.now();
+    }
+}
@@ -14,6 +14,8 @@ import java.util.Map;
 @Builder
 @Entity
 @Setter
+// 내 주문 내역 커서 페이징 (user_id로 찾고 id 역순으로 자름)
+@Table(indexes = @Index(name = "idx_ordering_user_id", columnList = "user_id, id"))
 public class Ordering {
 
     @Id
@@ -0,0 +1,25 @@
+package com.playdata.orderingservice.ordering.repository;
+
+import com.playdata.orderingservice.ordering.entity.OrderOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutbox, Long> {
+
+    // 발송 전 메시지를 오래된 순으로 가져오면서 잠금
+    // SKIP LOCKED: 다른 인스턴스가 잡고 있는 행은 건너뜀 -> 여러 인스턴스가 같은 메시지를 중복으로 집어가지 않음
+    @Query(value = "SELECT * FROM order_outbox WHERE published_at IS NULL " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OrderOutbox> findUnpublishedForUpdate(@Param("limit") int limit);
+
+    // 보관 기간이 지난 발송 완료 메시지 정리
+    @Modifying
+    @Query("DELETE FROM OrderOutbox o WHERE o.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+
+}
@@ -2,8 +2,11 @@ package com.playdata.orderingservice.ordering.repository;
 
 import com.playdata.orderingservice.ordering.entity.OrderStatus;
 import com.playdata.orderingservice.ordering.entity.Ordering;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -13,6 +16,19 @@ public interface OrderingRepository
     // @Query("SELECT o FROM Ordering o WHERE o.userId = ?1")
     List<Ordering> findByUserId(Long userId);
 
+    // 커서(주문 번호)보다 이전 주문들의 번호만 최신순으로 조회 (keyset 페이징)
+    // 컬렉션 fetch join과 limit을 같이 쓰면 메모리에서 페이징하게 되므로 번호만 먼저 자름.
+    @Query("SELECT o.id FROM Ordering o WHERE o.userId = :userId AND o.id < :cursor ORDER BY o.id DESC")
+    List<Long> findIdsByUserIdBefore(@Param("userId") Long userId,
+                                     @Param("cursor") Long cursor,
+                                     Pageable pageable);
+
+    // 주문 + 주문 상세를 한 번의 쿼리로 조회 (주문마다 상세를 따로 조회하는 N+1 방지)
+    // 컬렉션 fetch join으로 중복된 주문은 Hibernate 6이 알아서 제거해 줌.
+    @EntityGraph(attributePaths = "orderDetails")
+    @Query("SELECT o FROM Ordering o WHERE o.id IN :ids ORDER BY o.id DESC")
+    List<Ordering> findWithDetailsByIdIn(@Param("ids") List<Long> ids);
+
 
     // 쿼리메소드: list로 전달된 status 값 중에 하나라도 포함되어 있다면 조회 대상에 포함.
     List<Ordering> findByOrderStatusIn(List<OrderStatus> pendingUserFailure);
@@ -0,0 +1,462 @@
+package com.playdata.orderingservice.ordering.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/*
+    관리자 SSE 연결 관리 + 알림 fan-out
+
+    [RabbitListener 스레드] -> broadcast: 연결마다 대기열에 넣기만 함 -> 바로 다음 메시지 처리
+    [sseSendExecutor]       -> 연결마다 자기 대기열을 순서대로 전송 (SseConnection)
+
+    이전에는 리스너 스레드가 관리자마다 emitter.send를 차례로 호출해서,
+    한 관리자의 연결이 느리면 나머지 관리자와 큐 소비까지 같이 멈췄음.
+
+    논블로킹 구독(/subscribe, reactive 포트)은 같은 이벤트를 Sinks.Many로 받음 (stream)
+    -> 연결마다 SseConnection/스레드 없이 Reactor Netty 이벤트 루프에서 처리
+
+    연결은 연결 id로 관리함 (같은 관리자가 탭을 여러 개 열어도 기존 탭을 끊지 않음)
+    재연결 시 Last-Event-ID가 있으면 최근 이벤트 버퍼(SseEventBuffer)에서 놓친 이벤트만 다시 보냄.
+    이어받을 수 없으면 보관소(Redis)의 최근 알림(backlog)을 pending-order로 보냄.
+    -> backlog는 락 밖에서 읽음 (Redis가 느려도 publish와 다른 구독을 막지 않음)
+       읽기 전에 버퍼 순번을 기억해 두고, 등록할 때 그 뒤로 버퍼에 들어온 알림과 저장 후 아직 broadcast 전인 알림(inFlight)은
+       backlog에서 빼고 new-order로만 보냄 (catchUp) -> 구독 도중에 들어온 알림도 한 번만 감
+
+    죽은 연결 정리
+    - heartbeat-interval마다 모든 연결에 heartbeat(주석 줄)를 보냄
+    - 마지막 전송 성공 후 dead-after가 지난 연결(heartbeat도 못 나가는 연결)은 닫음
+    - 인스턴스당 최대 max-connections개까지만 연결을 받음
+    - emitter.send 한 번이 send-timeout 넘게 멈춘 연결은 닫고 발송 스레드를 돌려받음 (reapStalledSends)
+      -> 멈춘 연결이 writer-pool-size보다 많아도 나머지 연결의 발송이 계속됨
+
+    지표 (actuator /metrics, 연결별 상세는 /actuator/sse)
+    - sse.connections: 현재 인스턴스의 연결 수
+    - sse.queue.depth: 모든 연결의 발송 대기 이벤트 수 합계
+    - sse.memory.bytes: 발송 대기열(area=queue) / 재연결용 버퍼(area=replay-buffer)가 들고 있는 이벤트 크기
+    - sse.send.latency: 대기열에 넣은 시점부터 전송 완료까지 걸린 시간
+    - sse.events.dropped: 대기열 초과로 버린 이벤트 / 끊은 연결 수 (policy 태그)
+    - sse.connections.reaped: heartbeat가 나가지 않아 닫은 연결 수
+    - sse.connections.rejected: max-connections 초과로 거절한 연결 수
+    - sse.send.timeouts: 전송이 send-timeout 넘게 멈춰서 닫은 연결 수
+ */
+@Service
+@Slf4j
+public class AdminSseService implements SseConnection.Listener {
+
+    // 현재 인스턴스의 활성 연결들만 저장 (key: 연결 id)
+    private final ConcurrentHashMap<String, SseConnection> activeConnections = new ConcurrentHashMap<>();
+    // 관리자 email -> 그 관리자의 연결 id들 (탭마다 하나씩)
+    private final ConcurrentHashMap<String, Set<String>> connectionsByUser = new ConcurrentHashMap<>();
+    // broadcast와 재연결 시 이어받기를 이 버퍼 기준으로 직렬화 (사이에 들어온 이벤트가 빠지거나 두 번 가지 않도록)
+    private final SseEventBuffer eventBuffer;
+    // 논블로킹 구독자에게 보내는 실시간 이벤트 (broadcast에서 eventBuffer 락 안에서만 emit -> 직렬화됨)
+    // directBestEffort: 받을 준비가 안 된 구독자만 건너뜀 (구독자마다 앞에 대기열을 두므로 실제로는 대기열에서 처리)
+    private final Sinks.Many<SseEventBuffer.BufferedEvent> reactiveSink = Sinks.many().multicast().directBestEffort();
+    // publish로 보관소에 저장했지만 아직 broadcast 전인 알림 (JSON, eventBuffer 락으로 보호)
+    private final List<String> inFlight = new ArrayList<>();
+
+    private final ThreadPoolTaskExecutor sseSendExecutor;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Timer sendLatency;
+    private final Counter reaped;
+    private final Counter rejected;
+    private final Counter sendTimeouts;
+    private final int queueCapacity;
+    private final SseConnection.OverflowPolicy overflowPolicy;
+    @Getter
+    private final int maxConnections;
+    private final Duration deadAfter;
+    private final Duration sendTimeout;
+
+    public AdminSseService(@Qualifier("sseSendExecutor") ThreadPoolTaskExecutor sseSendExecutor,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${ordering.sse.queue-capacity:256}") int queueCapacity,
+                           @Value("${ordering.sse.overflow-policy:drop-oldest}") String overflowPolicy,
+                           @Value("${ordering.sse.replay-buffer-size:200}") int replayBufferSize,
+                           @Value("${ordering.sse.max-connections:1000}") int maxConnections,
+                           @Value("${ordering.sse.dead-after:45s}") Duration deadAfter,
+                           @Value("${ordering.sse.send-timeout:5s}") Duration sendTimeout) {
+        this.sseSendExecutor = sseSendExecutor;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = SseConnection.OverflowPolicy.valueOf(
+                overflowPolicy.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        this.eventBuffer = new SseEventBuffer(replayBufferSize);
+        this.maxConnections = maxConnections;
+        this.deadAfter = deadAfter;
+        this.sendTimeout = sendTimeout;
+
+        this.sendLatency = Timer.builder("sse.send.latency")
+                .description("SSE 이벤트 대기열 등록부터 전송 완료까지 걸린 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("sse.connections", activeConnections, ConcurrentHashMap::size)
+                .register(meterRegistry);
+        Gauge.builder("sse.queue.depth", this, AdminSseService::totalQueueDepth)
+                .register(meterRegistry);
+        Gauge.builder("sse.memory.bytes", this, AdminSseService::queuedBytes)
+                .tag("area", "queue")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("sse.memory.bytes", eventBuffer, SseEventBuffer::totalBytes)
+                .tag("area", "replay-buffer")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.reaped = Counter.builder("sse.connections.reaped").register(meterRegistry);
+        this.rejected = Counter.builder("sse.connections.rejected").register(meterRegistry);
+        this.sendTimeouts = Counter.builder("sse.send.timeouts").register(meterRegistry);
+    }
+
+    // 연결 결과 (resumed: Last-Event-ID로 놓친 이벤트를 이어받았는지)
+    public record Subscription(SseConnection connection, boolean resumed) {
+    }
+
+    /**
+     * 새 연결 등록 + connect 이벤트 전송 + 놓친 이벤트 재전송
+     *
+     * @param lastEventId - 브라우저가 재연결할 때 보내는 마지막 이벤트 id (처음 연결이면 null)
+     * @return - 인스턴스의 최대 연결 수를 넘으면 null
+     */
+    public Subscription connect(String userEmail, SseEmitter emitter, String lastEventId) {
+        return connect(userEmail, emitter, lastEventId, null);
+    }
+
+    /**
+     * 새 연결 등록 + 이어받을 수 없으면 backlog(보관소의 최근 알림)를 pending-order로 전송
+     * backlog는 락 밖에서 읽고, 읽는 사이에 들어온 알림과 겹치는 것은 빼고 보냄 (catchUp)
+     *
+     * @param backlog - 보관소 조회 (이어받은 재연결이면 호출하지 않음, null이면 보내지 않음)
+     */
+    public Subscription connect(String userEmail, SseEmitter emitter, String lastEventId,
+                                Supplier<? extends List<?>> backlog) {
+        // 대략적인 검사 (정확한 검사는 등록할 때 eventBuffer 락 안에서)
+        if (activeConnections.size() >= maxConnections) {
+            return reject(userEmail);
+        }
+
+        SseConnection connection = new SseConnection(userEmail, emitter, queueCapacity,
+                overflowPolicy, sseSendExecutor, this);
+
+        // 연결 종료 시 정리
+        emitter.onCompletion(() -> {
+            unregister(connection);
+            log.info("SSE 연결 정상 종료: {} ({})", userEmail, connection.getId());
+        });
+        emitter.onTimeout(() -> {
+            connection.close();
+            log.info("SSE 연결 타임아웃: {} ({})", userEmail, connection.getId());
+        });
+        emitter.onError((ex) -> {
+            connection.close();
+            // Broken pipe는 DEBUG 레벨로
+            if (ex.getMessage() != null && ex.getMessage().contains("Broken pipe")) {
+                log.debug("SSE 연결 끊김 (클라이언트 종료): {}", userEmail);
+            } else {
+                log.info("SSE 연결 오류: {} - {}", userEmail, ex.getMessage());
+            }
+        });
+
+        return catchUp(lastEventId, backlog, missed -> {
+            if (activeConnections.size() >= maxConnections) {
+                return reject(userEmail);
+            }
+            activeConnections.put(connection.getId(), connection);
+            connectionsByUser.computeIfAbsent(userEmail, k -> ConcurrentHashMap.newKeySet())
+                    .add(connection.getId());
+
+            // 연결 확인 메시지
+            connection.enqueue(SseEmitter.event()
+                    .name("connect")
+                    .data("SSE connected"));
+            missed.events().forEach(event -> connection.enqueue(toSse(event), event.bytes()));
+
+            // 이어받을 수 없는 id (다른 인스턴스, 재시작 전, 너무 오래됨) -> backlog로 대신함
+            if (lastEventId != null) {
+                log.info("SSE 재연결: {} ({}), Last-Event-ID: {}, 이어받기: {}",
+                        userEmail, connection.getId(), lastEventId, missed.resumed());
+            }
+            return new Subscription(connection, missed.resumed());
+        });
+    }
+
+    /**
+     * 보관소 저장(store) 후 broadcast
+     * 저장은 락 밖에서 함 -> 저장부터 broadcast까지는 inFlight에 올려둬서, 그 사이에 backlog를 읽은 구독은 실시간으로만 받음
+     *
+     * @return - 이벤트를 받은 연결 수
+     */
+    public int publish(String eventName, Object data, Runnable store) {
+        String json = toJson(data);
+        synchronized (eventBuffer) {
+            inFlight.add(json);
+        }
+        try {
+            store.run();
+        } catch (RuntimeException e) {
+            synchronized (eventBuffer) {
+                inFlight.remove(json);
+            }
+            throw e;
+        }
+        return broadcast(eventName, json, true);
+    }
+
+    /**
+     * 이벤트를 버퍼에 기록하고 모든 연결의 대기열에 넣음 (전송은 기다리지 않음)
+     *
+     * @return - 이벤트를 받은 연결 수 (0이면 받을 관리자가 없음)
+     */
+    public int broadcast(String eventName, Object data) {
+        return broadcast(eventName, toJson(data), false);
+    }
+
+    private int broadcast(String eventName, String json, boolean stored) {
+        int delivered = 0;
+        synchronized (eventBuffer) {
+            if (stored) {
+                inFlight.remove(json);
+            }
+            SseEventBuffer.BufferedEvent event = eventBuffer.append(eventName, json);
+            for (SseConnection connection : activeConnections.values()) {
+                // 연결마다 builder를 따로 만들어야 함 (전송 시점이 연결마다 다름)
+                if (connection.enqueue(toSse(event), event.bytes())) {
+                    delivered++;
+                }
+            }
+            // 전달 중에 연결이 끊겨 구독이 빠질 수 있으므로 구독자 수는 보내기 전에 셈
+            delivered += reactiveSink.currentSubscriberCount();
+            reactiveSink.tryEmitNext(event);
+        }
+        return delivered;
+    }
+
+    // 논블로킹 스트림(stream) 구독자 수
+    public int reactiveSubscriberCount() {
+        return reactiveSink.currentSubscriberCount();
+    }
+
+    /**
+     * 논블로킹 구독용 이벤트 스트림 (lastEventId 이후 놓친 이벤트 + 실시간 이벤트)
+     * 놓친 이벤트 읽기와 실시간 구독 시작을 broadcast와 같은 락(eventBuffer) 안에서 함 -> 사이에 들어온 이벤트가 빠지거나 두 번 가지 않음
+     *
+     * @param lastEventId - null이거나 이어받을 수 없으면 실시간 이벤트만
+     */
+    public Flux<SseEventBuffer.BufferedEvent> stream(String lastEventId) {
+        return stream(lastEventId, null);
+    }
+
+    /**
+     * stream + 이어받을 수 없으면 backlog(보관소의 최근 알림)를 pending-order로 먼저 보냄
+     * backlog는 락 밖에서 읽고 겹치는 알림은 빼고 보냄 (connect와 같음)
+     * backlog 조회가 블로킹이면 구독하는 쪽에서 이벤트 루프 밖(subscribeOn)에서 구독해야 함
+     */
+    public Flux<SseEventBuffer.BufferedEvent> stream(String lastEventId, Supplier<? extends List<?>> backlog) {
+        Flux<SseEventBuffer.BufferedEvent> events = Flux.create(sink -> catchUp(lastEventId, backlog, missed -> {
+            missed.events().forEach(sink::next);
+            Disposable live = reactiveSink.asFlux().subscribe(sink::next, sink::error, sink::complete);
+            sink.onDispose(live);
+            return null;
+        }));
+
+        // 느린 구독자는 자기 대기열만 쌓임 (다른 구독자와 Rabbit 리스너에는 영향 없음)
+        // 가득 차면 SseConnection과 같은 overflow-policy 적용 (disconnect면 스트림을 끝내서 연결을 닫음)
+        if (overflowPolicy == SseConnection.OverflowPolicy.DISCONNECT) {
+            return events.onBackpressureBuffer(queueCapacity,
+                    dropped -> countDropped(overflowPolicy), BufferOverflowStrategy.ERROR);
+        }
+        return events.onBackpressureBuffer(queueCapacity,
+                dropped -> countDropped(overflowPolicy), BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    /**
+     * heartbeat 전송 + 죽은 연결 정리
+     * 닫힌 연결은 emitter.complete()로 요청이 끝나므로 서블릿 스레드/버퍼도 반납됨
+     */
+    @Scheduled(fixedDelayString = "${ordering.sse.heartbeat-interval:15000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (SseConnection connection : activeConnections.values()) {
+            if (connection.millisSinceLastWrite(now) > deadAfter.toMillis()) {
+                log.info("SSE 응답 없는 연결 정리: {} ({}), 대기 이벤트: {}",
+                        connection.getUserEmail(), connection.getId(), connection.queueDepth());
+                reaped.increment();
+                connection.close();
+                continue;
+            }
+            connection.heartbeat();
+        }
+    }
+
+    /**
+     * 전송(emitter.send)이 send-timeout 넘게 멈춘 연결을 닫음
+     * 닫을 때 멈춘 발송 스레드를 interrupt -> 스레드가 풀로 돌아가 다른 연결을 보냄
+     */
+    @Scheduled(fixedDelayString = "${ordering.sse.stall-check-interval:1000}")
+    public void reapStalledSends() {
+        long now = System.currentTimeMillis();
+        for (SseConnection connection : activeConnections.values()) {
+            if (connection.closeIfStalled(now, sendTimeout.toMillis())) {
+                sendTimeouts.increment();
+            }
+        }
+    }
+
+    public int connectionCount() {
+        return activeConnections.size();
+    }
+
+    // /actuator/sse 용 연결 목록
+    public List<SseConnection> connections() {
+        return List.copyOf(activeConnections.values());
+    }
+
+    public long replayBufferBytes() {
+        return eventBuffer.totalBytes();
+    }
+
+    // 관리자 한 명이 열어둔 연결(탭) 수
+    public int connectionCount(String userEmail) {
+        Set<String> ids = connectionsByUser.get(userEmail);
+        return ids == null ? 0 : ids.size();
+    }
+
+    // 구독 시작 시 먼저 보낼 이벤트 (resumed: Last-Event-ID로 이어받았는지)
+    private record CatchUp(List<SseEventBuffer.BufferedEvent> events, boolean resumed) {
+    }
+
+    /**
+     * 구독 시작 시 보낼 이벤트를 모아서 register에 넘김 (register는 eventBuffer 락 안에서 실행 -> 이후 broadcast는 실시간으로 받음)
+     * 1. 락 안에서 버퍼 순번을 기억해 둠
+     * 2. 락 밖에서 backlog(보관소)를 읽음
+     * 3. 락 안에서 (backlog - 기억한 순번 이후 버퍼의 알림 - inFlight) -> pending-order, 그 다음 기억한 순번 이후 버퍼의 알림 순으로 넘김
+     *    읽는 사이 버퍼에서 밀려날 만큼 알림이 들어왔으면 처음부터 다시 함
+     */
+    private <T> T catchUp(String lastEventId, Supplier<? extends List<?>> backlog, Function<CatchUp, T> register) {
+        while (true) {
+            long from;
+            boolean resumable;
+            synchronized (eventBuffer) {
+                from = eventBuffer.lastSequence();
+                resumable = lastEventId != null && eventBuffer.since(lastEventId) != null;
+            }
+
+            List<String> recent = resumable || backlog == null ? List.of()
+                    : backlog.get().stream().map(this::toJson).toList();
+
+            synchronized (eventBuffer) {
+                List<SseEventBuffer.BufferedEvent> missed =
+                        resumable ? eventBuffer.since(lastEventId) : eventBuffer.since(from);
+                if (missed == null) {
+                    continue;
+                }
+                // 실시간(new-order)으로 가는 알림은 backlog에서 뺌 (같은 주문은 JSON도 같음)
+                Set<String> live = new HashSet<>(inFlight);
+                missed.forEach(event -> live.add(event.json()));
+                List<SseEventBuffer.BufferedEvent> events = new ArrayList<>();
+                for (String json : recent) {
+                    if (!live.contains(json)) {
+                        // 보관소의 알림은 id가 없음 (이어받기는 버퍼의 이벤트만 가능)
+                        events.add(new SseEventBuffer.BufferedEvent(0, null, "pending-order", json,
+                                json.length() + 30));
+                    }
+                }
+                events.addAll(missed);
+                return register.apply(new CatchUp(events, resumable));
+            }
+        }
+    }
+
+    @Override
+    public void onSent(SseConnection connection, long queuedNanos) {
+        sendLatency.record(queuedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onDropped(SseConnection connection, SseConnection.OverflowPolicy policy) {
+        countDropped(policy);
+    }
+
+    private void countDropped(SseConnection.OverflowPolicy policy) {
+        Counter.builder("sse.events.dropped")
+                .tag("policy", policy.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @Override
+    public void onClosed(SseConnection connection) {
+        unregister(connection);
+    }
+
+    private Subscription reject(String userEmail) {
+        rejected.increment();
+        log.warn("SSE 최대 연결 수({}) 초과 - 구독 거절: {}", maxConnections, userEmail);
+        return null;
+    }
+
+    private void unregister(SseConnection connection) {
+        activeConnections.remove(connection.getId(), connection);
+        connectionsByUser.computeIfPresent(connection.getUserEmail(), (email, ids) -> {
+            ids.remove(connection.getId());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    // 이미 직렬화된 JSON이므로 문자열 그대로 전송됨 (연결마다 다시 직렬화하지 않음)
+    private static SseEmitter.SseEventBuilder toSse(SseEventBuffer.BufferedEvent event) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event();
+        if (event.id() != null) {
+            builder.id(event.id());
+        }
+        return builder
+                .name(event.name())
+                .data(event.json(), MediaType.APPLICATION_JSON);
+    }
+
+    private String toJson(Object data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("SSE 이벤트 직렬화 실패", e);
+        }
+    }
+
+    private double totalQueueDepth() {
+        return activeConnections.values().stream().mapToInt(SseConnection::queueDepth).sum();
+    }
+
+    public double queuedBytes() {
+        return activeConnections.values().stream().mapToLong(SseConnection::queuedBytes).sum();
+    }
+}
@@ -0,0 +1,102 @@
+package com.playdata.orderingservice.ordering.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playdata.orderingservice.ordering.dto.OrderNotificationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/*
+    최근 주문 알림 보관소 (Redis sorted set, score = 수신 시각)
+
+    [주문 알림 수신] -> ZADD + 보관 기간/개수를 넘는 알림 삭제 (pipeline 한 번)
+    [관리자 구독]    -> ZREVRANGEBYSCORE 한 번으로 최근 알림을 읽어서 전송
+
+    이전에는 관리자가 없을 때 admin.pending.notifications 큐에 쌓아두고
+    구독 시 receiveAndConvert로 한 건씩 꺼냈음 -> 알림마다 브로커 왕복, 먼저 접속한 관리자 한 명만 받음.
+    보관소는 읽어도 지워지지 않으므로 모든 인스턴스의 모든 관리자가 같은 알림을 받음.
+ */
+@Component
+@Slf4j
+public class OrderEventReplayStore {
+
+    private static final String KEY = "ordering:sse:order-events";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final int maxSize;
+    private final int backlogSize;
+
+    public OrderEventReplayStore(StringRedisTemplate redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${ordering.sse.replay-store.retention:24h}") Duration retention,
+                                 @Value("${ordering.sse.replay-store.max-size:1000}") int maxSize,
+                                 @Value("${ordering.sse.replay-store.backlog-size:100}") int backlogSize) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.maxSize = maxSize;
+        this.backlogSize = backlogSize;
+    }
+
+    // 알림 저장 (Redis 장애 시 저장만 건너뜀 -> 실시간 알림은 그대로 전송됨)
+    public void save(OrderNotificationEvent event) {
+        long now = System.currentTimeMillis();
+        try {
+            String json = objectMapper.writeValueAsString(event);
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    ops.opsForZSet().add(KEY, json, now);
+                    // 보관 기간이 지난 알림 + 최근 max-size개를 넘는 알림 삭제
+                    ops.opsForZSet().removeRangeByScore(KEY, 0, now - retention.toMillis());
+                    ops.opsForZSet().removeRange(KEY, 0, -(maxSize + 1));
+                    ops.expire(KEY, retention);
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("주문 알림 보관 실패: 주문: {}, 이유: {}", event.getOrderId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 보관 기간 안의 최근 알림 (오래된 순, 최대 backlog-size개)
+     */
+    public List<OrderNotificationEvent> recent() {
+        long now = System.currentTimeMillis();
+        Set<String> stored;
+        try {
+            stored = redisTemplate.opsForZSet().reverseRangeByScore(
+                    KEY, now - retention.toMillis(), Double.POSITIVE_INFINITY, 0, backlogSize);
+        } catch (Exception e) {
+            log.warn("보관된 주문 알림 조회 실패: {}", e.getMessage());
+            return List.of();
+        }
+        if (stored == null || stored.isEmpty()) return List.of();
+
+        List<OrderNotificationEvent> events = new ArrayList<>(stored.size());
+        for (String json : stored) {
+            try {
+                events.add(objectMapper.readValue(json, OrderNotificationEvent.class));
+            } catch (Exception e) {
+                // 읽을 수 없는 값(클래스 구조 변경 등)은 건너뜀
+                log.warn("보관된 주문 알림 역직렬화 실패: {}", e.getMessage());
+            }
+        }
+        Collections.reverse(events);
+        return events;
+    }
+}
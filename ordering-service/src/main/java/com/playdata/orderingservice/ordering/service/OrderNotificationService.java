@@ -1,11 +1,14 @@
 package com.playdata.orderingservice.ordering.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.playdata.orderingservice.ordering.dto.OrderNotificationEvent;
+import com.playdata.orderingservice.ordering.entity.OrderOutbox;
+import com.playdata.orderingservice.ordering.entity.OrderStatus;
 import com.playdata.orderingservice.ordering.entity.Ordering;
+import com.playdata.orderingservice.ordering.repository.OrderOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.AmqpException;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -16,35 +19,38 @@ public class OrderNotificationService {
     /*
     역할: "주문 정보를 받아서 RabbitMQ로 알림 메시지를 보내는 택배 기사"
 
-    [OrderingService] → [OrderNotificationService] → [RabbitMQ] → [관리자]
-       (주문 완료!)           ("알림 보내드릴게요!")        (메시지 전달)   (알림 받음!)
+    [OrderingService] → [OrderNotificationService] → [OrderOutbox] → [OrderOutboxRelay] → [RabbitMQ] → [관리자]
+       (주문 완료!)           ("알림 보내드릴게요!")        (발송 대기)       (모아서 발송)          (메시지 전달)   (알림 받음!)
+
+    주문 트랜잭션 안에서는 outbox 테이블에 기록만 함.
+    -> 주문이 롤백되면 알림도 같이 취소되고, 주문 처리가 RabbitMQ 응답을 기다리지 않음.
      */
 
-    // 우리가 만든 exchange, queue로 메시지를 보낼 수 있게 해줌.
-    private final RabbitTemplate rabbitTemplate;
+    private final OrderOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
 
     public void sendNewOrderNotification(Ordering ordering) {
         // 주문 완료된 것만 알림 발송
+        if (ordering.getOrderStatus() != OrderStatus.ORDERED) return;
+
         try {
-            if (ordering.getOrderStatus().toString().equals("ORDERED")){
-                // 알림 전용 DTO 생성
-                OrderNotificationEvent event = OrderNotificationEvent.fromOrdering(ordering);
-
-                // RabbitMq로 메시지 발송
-                rabbitTemplate.convertAndSend(
-                        "order.exchange", // RabbitMQConfig에서 만든 Exchange
-                        "order.create",     //  Routing Key (어느 큐로 보낼지 결정)
-                        event           // 보낼 데이터 (JSON으로 자동 변환됨)
-                );
-
-                log.info("Order Notification sent to admin: orderId: {}, customer: {}"
-                        , ordering.getId(), ordering.getUserEmail());
-            }
-        } catch (Exception e) {
-            log.error("Failed to send order notification admin: orderId: {}, customer: {}"
+            // 알림 전용 DTO 생성
+            OrderNotificationEvent event = OrderNotificationEvent.fromOrdering(ordering);
+
+            // 호출한 쪽(createOrder)의 트랜잭션에 함께 저장됨
+            outboxRepository.save(OrderOutbox.builder()
+                    .orderId(ordering.getId())
+                    .exchange("order.exchange") // RabbitMQConfig에서 만든 Exchange
+                    .routingKey("order.create") //  Routing Key (어느 큐로 보낼지 결정)
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+
+            log.info("Order Notification queued: orderId: {}, customer: {}"
+                    , ordering.getId(), ordering.getUserEmail());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to queue order notification: orderId: {}, customer: {}"
                     , ordering.getId(), ordering.getUserEmail(), e);
-            // 알림 발송을 실패해도 주문 처리는 계속 진행
-            // 알림은 부가기능이니까 알림 발송을 실패해도 주문은 성공해야 함.
+            // 알림은 부가기능이니까 알림 생성에 실패해도 주문은 성공해야 함.
         }
     }
 }
@@ -0,0 +1,107 @@
+package com.playdata.orderingservice.ordering.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playdata.orderingservice.ordering.dto.OrderNotificationEvent;
+import com.playdata.orderingservice.ordering.entity.OrderOutbox;
+import com.playdata.orderingservice.ordering.repository.OrderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+    outbox에 쌓인 주문 알림을 RabbitMQ로 발송하는 릴레이
+
+    [OrderOutbox 테이블] → [OrderOutboxRelay] → [RabbitMQ] → [관리자]
+       (발송 대기 메시지)     (모아서 한 번에 발송)
+
+    한 채널에서 batch만큼 연속으로 발송한 뒤 publisher confirm을 한 번만 기다림.
+    confirm을 받지 못하면 트랜잭션이 롤백되어 다음 주기에 다시 발송됨. (최소 1회 전달)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderOutboxRelay {
+
+    private final OrderOutboxRepository outboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+
+    // 한 번에 발송할 최대 메시지 수
+    @Value("${ordering.outbox.batch-size:100}")
+    private int batchSize;
+
+    // 브로커 confirm 대기 시간 (ms)
+    @Value("${ordering.outbox.confirm-timeout:5000}")
+    private long confirmTimeout;
+
+    // 발송 완료된 메시지를 보관하는 기간 (시간)
+    @Value("${ordering.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @Scheduled(fixedDelayString = "${ordering.outbox.relay-interval:500}")
+    @Transactional
+    public void relay() {
+        List<OrderOutbox> messages = outboxRepository.findUnpublishedForUpdate(batchSize);
+        if (messages.isEmpty()) return;
+
+        // JSON 변환이 안 되는 메시지는 재시도해도 실패하므로 로그만 남기고 발송 완료로 처리
+        // (남겨두면 같은 batch가 계속 롤백되어 뒤의 메시지까지 막힘)
+        Map<OrderOutbox, OrderNotificationEvent> events = new LinkedHashMap<>();
+        for (OrderOutbox message : messages) {
+            OrderNotificationEvent event = toEvent(message);
+            if (event == null) {
+                message.markPublished();
+            } else {
+                events.put(message, event);
+            }
+        }
+        if (events.isEmpty()) return;
+
+        try {
+            rabbitTemplate.invoke(operations -> {
+                events.forEach((message, event) ->
+                        operations.convertAndSend(message.getExchange(), message.getRoutingKey(), event));
+                operations.waitForConfirmsOrDie(confirmTimeout);
+                return null;
+            });
+        } catch (Exception e) {
+            // 롤백 -> 잠금이 풀리고 다음 주기에 다시 발송
+            log.error("주문 알림 발송 실패, 다음 주기에 재시도: {}건, 이유: {}", events.size(), e.getMessage());
+            throw new IllegalStateException("주문 알림 발송 실패", e);
+        }
+
+        // 변경 감지로 발송 완료 처리
+        events.keySet().forEach(OrderOutbox::markPublished);
+        log.info("Order Notification sent to admin: {}건", events.size());
+    }
+
+    // 1시간마다 보관 기간이 지난 발송 완료 메시지 삭제
+    @Scheduled(fixedDelay = 3_600_000)
+    @Transactional
+    public void cleanUp() {
+        int deleted = outboxRepository.deletePublishedBefore(
+                LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("발송 완료된 주문 알림 정리: {}건", deleted);
+        }
+    }
+
+    private OrderNotificationEvent toEvent(OrderOutbox message) {
+        try {
+            return objectMapper.readValue(message.getPayload(), OrderNotificationEvent.class);
+        } catch (Exception e) {
+            log.error("주문 알림 변환 실패, 발송 생략: outbox ID: {}, orderId: {}",
+                    message.getId(), message.getOrderId(), e);
+            return null;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.playdata.orderingservice.common.auth.TokenUserInfo;
 import com.playdata.orderingservice.common.dto.CommonResDTO;
 import com.playdata.orderingservice.ordering.controller.SseController;
 import com.playdata.orderingservice.ordering.dto.OrderingListResDTO;
+import com.playdata.orderingservice.ordering.dto.OrderingPageResDTO;
 import com.playdata.orderingservice.ordering.dto.OrderingSaveReqDTO;
 import com.playdata.orderingservice.ordering.dto.ProductResDTO;
 import com.playdata.orderingservice.ordering.dto.UserResDTO;
@@ -15,11 +16,15 @@ import com.playdata.orderingservice.ordering.entity.OrderDetail;
 import com.playdata.orderingservice.ordering.entity.OrderStatus;
 import com.playdata.orderingservice.ordering.entity.Ordering;
 import com.playdata.orderingservice.ordering.repository.OrderingRepository;
+import feign.FeignException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
 import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
@@ -27,6 +32,8 @@ import org.springframework.web.client.RestTemplate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,10 +49,29 @@ public class OrderingService {
     // feign client 구현체 주입 받기
     private final UserServiceClient userServiceClient;
     private final ProductServiceClient productServiceClient;
+    private final ProductNameCache productNameCache;
+    private final UserInfoCache userInfoCache;
 
     // CircuitBreaker 동작 객체 주입
     private final CircuitBreakerFactory circuitBreakerFactory;
 
+    // true: 장바구니 전체를 /product/reserve 한 번으로 처리
+    // false: 기존처럼 상품마다 조회 + 차감 요청을 따로 보냄
+    @Value("${ordering.product.batch-reserve:true}")
+    private boolean batchReserve;
+
+    // 상품별 처리(batch-reserve: false) 시 상품 정보 조회 방식
+    // sequential: 한 상품씩 차례대로 조회, parallel: 모든 상품을 동시에 조회
+    @Value("${ordering.product.lookup-mode:sequential}")
+    private String lookupMode;
+
+    // 상품 정보 동시 조회용 스레드 풀 (AsyncConfig)
+    private final ThreadPoolTaskExecutor productLookupExecutor;
+
+    // 내 주문 내역 한 페이지의 최대 주문 수
+    @Value("${ordering.my-order.max-page-size:100}")
+    private int maxPageSize;
+
 
     public Ordering createOrder(List<OrderingSaveReqDTO> dtoList,
                                 TokenUserInfo userInfo) {
@@ -56,9 +82,9 @@ public class OrderingService {
 
 
             // Ordering 객체를 생성하기 위해 회원 정보를 얻어오자.
-            // 우리가 가진 유일한 정보는 토큰 안에 들어있던 이메일 뿐입니다...
-            // 이메일을 가지고 요청을 보내자 -> user-service
-            userDto = getUserResDTO(userInfo.getEmail());
+            // 토큰에 회원 번호가 있으면 그대로 사용하고,
+            // 예전 토큰이라 이메일밖에 없다면 이메일을 가지고 요청을 보내자 -> user-service
+            userDto = resolveUser(userInfo);
             log.info("user-service로부터 전달받은 결과: {}", userDto);
 
             // Ordering(주문) 객체 생성
@@ -125,7 +151,25 @@ public class OrderingService {
         return savedOrdering;
     }
 
+    // gateway가 토큰의 회원 번호를 X-User-Id로 넘겨주면 user-service를 호출할 필요가 없음.
+    // 회원 번호가 없는 예전 토큰만 이메일로 조회.
+    private UserResDTO resolveUser(TokenUserInfo userInfo) {
+        if (userInfo.getUserId() != null) {
+            return UserResDTO.builder()
+                    .id(userInfo.getUserId())
+                    .email(userInfo.getEmail())
+                    .role(userInfo.getRole())
+                    .build();
+        }
+        return getUserResDTO(userInfo.getEmail());
+    }
+
     public UserResDTO getUserResDTO(String email) {
+        // 한 번 조회한 회원은 캐시에서 꺼냄 (없을 때만 user-service 호출)
+        return userInfoCache.get(email, () -> fetchUserResDTO(email));
+    }
+
+    private UserResDTO fetchUserResDTO(String email) {
 
         // 서킷 브레이커 적용하기
         CircuitBreaker userCircuit = circuitBreakerFactory.create("userService");
@@ -149,13 +193,31 @@ public class OrderingService {
                                              Long userId,
                                              Ordering ordering
     ) {
+        if (batchReserve) {
+            reserveProducts(dtoList, ordering);
+            return;
+        }
+
+        // 상품 정보 조회는 서로 독립적이라 parallel 모드면 미리 한꺼번에 요청을 보내 놓음.
+        // 각 조회는 getProductInfo를 그대로 쓰므로 서킷브레이커도 상품마다 그대로 적용됨.
+        // 재고 차감은 아래 반복문에서 기존처럼 순서대로 진행.
+        List<CompletableFuture<ProductResDTO>> lookups = null;
+        if ("parallel".equalsIgnoreCase(lookupMode)) {
+            lookups = dtoList.stream()
+                    .map(dto -> CompletableFuture.supplyAsync(
+                            () -> getProductInfo(dto.getProductId()), productLookupExecutor))
+                    .collect(Collectors.toList());
+        }
+
         // 주문 상세 내역에 대한 처리를 반복해서 지정.
-        for (OrderingSaveReqDTO dto : dtoList) {
+        for (int i = 0; i < dtoList.size(); i++) {
+            OrderingSaveReqDTO dto = dtoList.get(i);
 
             try {
                 // dto 안에 있는 상품 id를 이용해서 상품 정보 얻어오자.
                 // product 객체를 조회하자 -> product-service에게 요청해야 함!
-                ProductResDTO prodResDto = getProductInfo(dto.getProductId());
+                ProductResDTO prodResDto = lookups == null ?
+                        getProductInfo(dto.getProductId()) : joinLookup(lookups.get(i));
 
                 log.info("product-service로부터 받아온 결과: {}", prodResDto);
                 int stockQuantity = prodResDto.getStockQuantity();
@@ -205,23 +267,90 @@ public class OrderingService {
         }
     }
 
+    // 주문 상품 전체를 product-service에 한 번에 보내서 재고 확인 + 차감을 처리하는 메소드
+    // 상품 개수만큼 조회/차감 요청을 반복하지 않으므로 왕복 횟수가 항상 1번.
+    private void reserveProducts(List<OrderingSaveReqDTO> dtoList, Ordering ordering) {
+        try {
+            CircuitBreaker updateCircuit = circuitBreakerFactory.create("productServiceUpdate");
+            updateCircuit.run(() -> productServiceClient.reserveProducts(dtoList));
+        } catch (Exception e) {
+            int status = findFeignStatus(e);
+
+            // 재고 부족, 잘못된 수량 -> 주문 보류가 아니라 옳지 못한 주문
+            if (status == 400) {
+                log.warn("재고 부족으로 주문 불가! 주문 내역: {}, 오류: {}", dtoList, e.getMessage());
+                throw new IllegalArgumentException("재고 부족!");
+            }
+
+            // 서비스 에러로 인한 주문 보류
+            // product-service에서 트랜잭션이 롤백되므로 일부 상품만 차감된 상태는 남지 않음.
+            log.error("일괄 재고 차감 실패! 주문 내역: {}, 오류: {}", dtoList, e.getMessage());
+            ordering.updateStatus(
+                    status == 404 ?
+                            OrderStatus.PENDING_PROD_NOT_FOUND :
+                            OrderStatus.PENDING_PROD_STOCK_UPDATE
+            );
+            addOrderDetails(dtoList, ordering);
+            orderingRepository.save(ordering);
+            return;
+        }
+
+        addOrderDetails(dtoList, ordering);
+    }
+
+    // 재처리 시에는 이미 상세 내역이 들어있을 수 있으므로 비어있을 때만 추가
+    private void addOrderDetails(List<OrderingSaveReqDTO> dtoList, Ordering ordering) {
+        if (!ordering.getOrderDetails().isEmpty()) return;
+        for (OrderingSaveReqDTO dto : dtoList) {
+            ordering.getOrderDetails().add(toOrderDetail(dto, ordering));
+        }
+    }
+
+    // 서킷브레이커가 감싼 예외 안에서 feign 응답 코드를 찾아냄. (없으면 -1)
+    private int findFeignStatus(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof FeignException fe) {
+                return fe.status();
+            }
+        }
+        return -1;
+    }
+
     // 재고를 주문 수량만큼 감소시켜달라는 요청을 product-service에 보내는 메소드
+    // 조회한 재고에서 빼서 덮어쓰지 않고, 차감할 수량만 보내서 product-service가 조건부로 차감하게 함.
+    // (조회 이후 다른 주문이 먼저 차감했다면 400 -> 재고 부족)
     private void deductStock(ProductResDTO prodResDto, int quantity) {
         try {
             CircuitBreaker updateCircuit = circuitBreakerFactory.create("productServiceUpdate");
 
-            updateCircuit.run(() -> {
-                prodResDto.setStockQuantity(prodResDto.getStockQuantity() - quantity);
-                productServiceClient.updateQuantity(prodResDto);
-                return null;
-            });
+            CommonResDTO<Integer> res = updateCircuit.run(
+                    () -> productServiceClient.decreaseQuantity(
+                            new OrderingSaveReqDTO(prodResDto.getId(), quantity))
+            );
+            prodResDto.setStockQuantity(res.getResult());
 
         } catch (Exception e) {
+            if (findFeignStatus(e) == 400) {
+                throw new IllegalArgumentException("재고 부족!");
+            }
             log.error("재고 차감 실패! 상품 ID: {}, 오류: {}", prodResDto.getId(), e.getMessage());
             throw new IllegalStateException("재고 차감 실패");
         }
     }
 
+    // 동시 조회 결과를 꺼냄. 조회 중 발생한 예외(IllegalStateException)는 그대로 다시 던져서
+    // 순차 조회와 똑같이 주문 보류 처리가 되도록 함.
+    private ProductResDTO joinLookup(CompletableFuture<ProductResDTO> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("상품 정보 조회 실패");
+        }
+    }
+
     // 번호를 전달받아서 product-serivce로부터 상품 정보 조회를 전담하는 메소드
     private ProductResDTO getProductInfo(Long productId) {
         try {
@@ -248,20 +377,32 @@ public class OrderingService {
                 .build();
     }
 
-    public List<OrderingListResDTO> myOrder(final TokenUserInfo userInfo) {
+    public OrderingPageResDTO myOrder(final TokenUserInfo userInfo, Long cursor, int size) {
         String email = userInfo.getEmail();
+        int pageSize = Math.min(Math.max(size, 1), maxPageSize);
+
+        // 주문은 회원 번호로 저장되어 있음. (토큰에 없으면 이메일로 조회)
+        UserResDTO userDto = resolveUser(userInfo);
+
+        // 커서 이전의 주문 번호를 한 페이지 + 1개 가져옴 (1개 더 있으면 다음 페이지가 있다는 뜻)
+        List<Long> orderIds = orderingRepository.findIdsByUserIdBefore(
+                userDto.getId(),
+                cursor == null ? Long.MAX_VALUE : cursor,
+                PageRequest.of(0, pageSize + 1));
+        boolean hasNext = orderIds.size() > pageSize;
+        if (hasNext) {
+            orderIds = orderIds.subList(0, pageSize);
+        }
+        if (orderIds.isEmpty()) {
+            return new OrderingPageResDTO(List.of(), null, false);
+        }
 
-        // 이메일로는 주문 회원 정보를 알 수가 없음. (id로 되어 있으니까)
-        CommonResDTO<UserResDTO> byEmail
-                = userServiceClient.findByEmail(email);
-        UserResDTO userDto = byEmail.getResult();
-
-        // 해당 사용자의 주문 내역 전부 가져오기.
+        // 이번 페이지의 주문만 주문 상세까지 한 번에 가져오기.
         List<Ordering> orderingList
-                = orderingRepository.findByUserId(userDto.getId());
+                = orderingRepository.findWithDetailsByIdIn(orderIds);
 
         List<Long> productIdList = new ArrayList<>();
-        // 주문 내역에서 모든 상품 ID를 추출한 후
+        // 이번 페이지 주문 내역에서 모든 상품 ID를 추출한 후
         // product-service에게 상품 정보를 요청.
 
         /*
@@ -318,22 +459,16 @@ public class OrderingService {
                 .distinct()
                 .collect(Collectors.toList());
 
-        // product-service에게 상품 정보를 달라고 요청해야 함.
-        CommonResDTO<List<ProductResDTO>> products
-                = productServiceClient.getProducts(productIds);
-        List<ProductResDTO> dtoList = products.getResult();
-
-        // product-service에게 받아온 리스트를 필요로 하는 정보로만 맵으로 맵핑.
-        Map<Long, String> productIdToNameMap = dtoList.stream()
-                .collect(Collectors.toMap(
-                        dto -> dto.getId(), // key
-                        dto -> dto.getName() // value
-                ));
+        // 상품명 캐시에서 꺼내고, 캐시에 없는 상품만 product-service에게 한 번에 요청.
+        Map<Long, String> productIdToNameMap = productNameCache.getNames(productIds);
 
         // Ordering 객체를 DTO로 변환하자. 주문 상세에 대한 변환도 따로 처리.
-        return orderingList.stream()
+        List<OrderingListResDTO> orders = orderingList.stream()
                 .map(ordering -> ordering.fromEntity(email, productIdToNameMap))
                 .collect(Collectors.toList());
+
+        Long nextCursor = hasNext ? orderIds.get(orderIds.size() - 1) : null;
+        return new OrderingPageResDTO(orders, nextCursor, hasNext);
     }
 
     public Ordering cancelOrder(long id) {
@@ -0,0 +1,73 @@
+package com.playdata.orderingservice.ordering.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.playdata.orderingservice.client.ProductServiceClient;
+import com.playdata.orderingservice.common.dto.CommonResDTO;
+import com.playdata.orderingservice.common.event.ProductChangedEvent;
+import com.playdata.orderingservice.ordering.dto.ProductResDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+    주문 내역 화면용 상품명 캐시 (상품 ID -> 상품명)
+
+    상품명은 거의 바뀌지 않으므로 product-service에 매번 묻지 않고 메모리에 보관함.
+    - 최대 개수, 만료 시간(TTL)이 지나면 자동으로 제거
+    - 캐시에 없는 상품만 모아서 getProducts 한 번으로 조회
+    - 상품 등록/삭제 시 bus로 들어오는 ProductChangedEvent로 해당 상품을 비움
+    - 적중/실패 수는 actuator metrics의 cache.gets (cache=productNames)로 확인
+ */
+@Component
+@Slf4j
+public class ProductNameCache {
+
+    private final ProductServiceClient productServiceClient;
+    private final Cache<Long, String> cache;
+
+    public ProductNameCache(ProductServiceClient productServiceClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${ordering.product-name-cache.max-size:10000}") long maxSize,
+                            @Value("${ordering.product-name-cache.ttl:10m}") Duration ttl) {
+        this.productServiceClient = productServiceClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "productNames");
+    }
+
+    public Map<Long, String> getNames(List<Long> productIds) {
+        Map<Long, String> names = new HashMap<>(cache.getAllPresent(productIds));
+
+        List<Long> misses = productIds.stream()
+                .filter(id -> !names.containsKey(id))
+                .toList();
+        if (misses.isEmpty()) return names;
+
+        // 캐시에 없는 상품만 product-service에게 한 번에 요청
+        CommonResDTO<List<ProductResDTO>> products
+                = productServiceClient.getProducts(misses);
+        for (ProductResDTO dto : products.getResult()) {
+            cache.put(dto.getId(), dto.getName());
+            names.put(dto.getId(), dto.getName());
+        }
+        return names;
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        log.info("상품 변경 이벤트 수신 -> 상품명 캐시 삭제: {}", event);
+        cache.invalidate(event.getProductId());
+    }
+}
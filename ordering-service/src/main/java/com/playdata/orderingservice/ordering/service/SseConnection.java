@@ -0,0 +1,242 @@
+package com.playdata.orderingservice.ordering.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    관리자 SSE 연결 하나 + 그 연결 전용 발송 대기열
+
+    [알림 수신 스레드] -> enqueue (대기열에 넣고 바로 리턴, 소켓 쓰기를 기다리지 않음)
+    [sseSendExecutor] -> drain (이 연결의 대기열을 순서대로 emitter.send)
+
+    - 한 연결의 drain은 동시에 하나만 실행됨 (이벤트 순서 보장)
+    - 느린 연결은 자기 대기열만 쌓이고 다른 관리자의 발송에는 영향 없음
+    - 대기열이 가득 차면 overflowPolicy에 따라 가장 오래된 이벤트를 버리거나 연결을 끊음
+    - 마지막으로 전송에 성공한 시각을 기록 -> heartbeat도 못 나가는 연결은 AdminSseService가 정리
+
+    발송 스레드는 연결 수보다 훨씬 적으므로 한 연결이 스레드를 오래 잡지 않게 함
+    - drain 한 번에 MAX_EVENTS_PER_DRAIN개까지만 보내고 남은 이벤트는 다시 executor 뒤에 줄 섬 (다른 연결 차례)
+    - emitter.send 한 번이 send-timeout 넘게 끝나지 않으면(소켓 쓰기에서 멈춤) closeIfStalled로 연결을 닫고
+      멈춘 발송 스레드를 interrupt해서 풀로 돌려보냄
+      (interrupt로 풀리지 않는 쓰기도 연결은 바로 닫히고, 스레드는 서버의 쓰기 타임아웃에서 돌아옴)
+ */
+@Slf4j
+public class SseConnection {
+
+    public enum OverflowPolicy {
+        DROP_OLDEST, // 가장 오래된 이벤트를 버리고 새 이벤트를 넣음
+        DISCONNECT   // 느린 연결로 보고 끊음 (클라이언트가 재연결하면서 다시 받음)
+    }
+
+    // ":heartbeat\n\n" 크기
+    private static final int HEARTBEAT_BYTES = 12;
+    // drain 한 번에 보내는 최대 이벤트 수 (넘으면 다른 연결에 스레드를 양보)
+    private static final int MAX_EVENTS_PER_DRAIN = 32;
+
+    // 대기열에서 꺼낸 뒤 발송 결과를 알려줌 (지표 기록용)
+    public interface Listener {
+        void onSent(SseConnection connection, long queuedNanos);
+
+        void onDropped(SseConnection connection, OverflowPolicy policy);
+
+        void onClosed(SseConnection connection);
+    }
+
+    // 연결 id (같은 관리자가 탭을 여러 개 열면 탭마다 다른 id)
+    @Getter
+    private final String id = UUID.randomUUID().toString();
+    @Getter
+    private final String userEmail;
+    @Getter
+    private final SseEmitter emitter;
+    private final BlockingQueue<Outbound> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final Executor writer;
+    private final Listener listener;
+
+    // drain 작업이 실행 중이거나 executor에 등록되어 있으면 true
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    // 대기열에 쌓인 이벤트의 대략적인 크기 (byte)
+    private final AtomicLong queuedBytes = new AtomicLong();
+    @Getter
+    private final long connectedAt = System.currentTimeMillis();
+    // 마지막으로 전송에 성공한 시각 (연결 직후에는 연결 시각)
+    private volatile long lastWriteAt = connectedAt;
+    // 지금 emitter.send 중인 스레드와 시작 시각 (보내는 중이 아니면 null, 0), sendLock으로 보호
+    private final Object sendLock = new Object();
+    private Thread sendingThread;
+    private long sendingSince;
+
+    public SseConnection(String userEmail, SseEmitter emitter, int queueCapacity,
+                         OverflowPolicy overflowPolicy, Executor writer, Listener listener) {
+        this.userEmail = userEmail;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.overflowPolicy = overflowPolicy;
+        this.writer = writer;
+        this.listener = listener;
+    }
+
+    /**
+     * 발송할 이벤트를 대기열에 넣음 (블로킹 없음)
+     *
+     * @return - 대기열에 들어갔으면 true, 연결이 닫혔거나 끊었으면 false
+     */
+    public boolean enqueue(SseEmitter.SseEventBuilder event) {
+        return enqueue(event, 0);
+    }
+
+    /**
+     * @param bytes - 이벤트의 대략적인 크기 (메모리 사용량 지표용, 모르면 0)
+     */
+    public boolean enqueue(SseEmitter.SseEventBuilder event, int bytes) {
+        if (closed.get()) return false;
+
+        Outbound outbound = new Outbound(event, bytes, System.nanoTime());
+        while (!queue.offer(outbound)) {
+            if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                log.warn("SSE 발송 대기열 초과 - 연결 종료: {}", userEmail);
+                listener.onDropped(this, overflowPolicy);
+                close();
+                return false;
+            }
+            // 다른 스레드가 먼저 꺼냈을 수 있으므로 다시 offer
+            Outbound dropped = queue.poll();
+            if (dropped != null) {
+                queuedBytes.addAndGet(-dropped.bytes());
+                listener.onDropped(this, overflowPolicy);
+            }
+        }
+        queuedBytes.addAndGet(bytes);
+        scheduleDrain();
+        return true;
+    }
+
+    // 이벤트가 아닌 주석 줄 -> 브라우저의 onmessage에는 전달되지 않음
+    // (builder는 build할 때 내용이 바뀌므로 매번 새로 만듦)
+    public boolean heartbeat() {
+        return enqueue(SseEmitter.event().comment("heartbeat"), HEARTBEAT_BYTES);
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public long queuedBytes() {
+        return queuedBytes.get();
+    }
+
+    // 마지막 전송 성공 후 지난 시간 (ms)
+    public long millisSinceLastWrite(long now) {
+        return now - lastWriteAt;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * emitter.send 한 번이 timeoutMillis 넘게 끝나지 않았으면 연결을 닫고 발송 스레드를 interrupt
+     *
+     * @return - 닫았으면 true
+     */
+    public boolean closeIfStalled(long now, long timeoutMillis) {
+        Thread stalled;
+        synchronized (sendLock) {
+            if (sendingThread == null || now - sendingSince <= timeoutMillis) return false;
+            stalled = sendingThread;
+            // send가 끝나기 전이므로 interrupt가 다른 작업으로 새지 않음 (send 쪽에서 끝날 때 플래그를 지움)
+            stalled.interrupt();
+        }
+        log.info("SSE 전송이 {}ms 넘게 멈춤 - 연결 종료: {} ({})", timeoutMillis, userEmail, id);
+        close();
+        return true;
+    }
+
+    // 연결 종료 (여러 번 호출돼도 한 번만 처리)
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+        queue.clear();
+        queuedBytes.set(0);
+        try {
+            emitter.complete();
+        } catch (Exception e) {
+            // 이미 끊긴 연결
+        }
+        listener.onClosed(this);
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) return;
+        try {
+            writer.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            log.warn("SSE 발송 작업 등록 실패 - 다음 이벤트 때 다시 시도: {}", userEmail);
+        }
+    }
+
+    private void drain() {
+        int sent = 0;
+        while (true) {
+            Outbound next;
+            while ((next = queue.poll()) != null) {
+                queuedBytes.addAndGet(-next.bytes());
+                if (!send(next)) return;
+                if (++sent >= MAX_EVENTS_PER_DRAIN && !queue.isEmpty() && yieldDrain()) return;
+            }
+            draining.set(false);
+            // 플래그를 내리는 사이에 들어온 이벤트가 있으면 이어서 처리
+            if (queue.isEmpty() || !draining.compareAndSet(false, true)) return;
+        }
+    }
+
+    // 남은 이벤트는 executor 대기열 뒤에서 이어서 보냄 (draining은 그대로 true) -> 등록 못 하면 계속 보냄
+    private boolean yieldDrain() {
+        try {
+            writer.execute(this::drain);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private boolean send(Outbound outbound) {
+        if (closed.get()) return false;
+        synchronized (sendLock) {
+            sendingThread = Thread.currentThread();
+            sendingSince = System.currentTimeMillis();
+        }
+        try {
+            emitter.send(outbound.event());
+            lastWriteAt = System.currentTimeMillis();
+            listener.onSent(this, System.nanoTime() - outbound.enqueuedAt());
+            return true;
+        } catch (Exception e) {
+            // Broken pipe 등 클라이언트가 이미 떠난 경우 (멈춘 전송을 closeIfStalled가 interrupt한 경우 포함)
+            log.debug("SSE 전송 실패 (연결 제거): {} - {}", userEmail, e.getMessage());
+            close();
+            return false;
+        } finally {
+            synchronized (sendLock) {
+                sendingThread = null;
+                sendingSince = 0;
+            }
+            // closeIfStalled의 interrupt가 send가 끝난 뒤에 남지 않도록 (풀 스레드의 다음 작업에 영향 없게)
+            Thread.interrupted();
+        }
+    }
+
+    private record Outbound(SseEmitter.SseEventBuilder event, int bytes, long enqueuedAt) {
+    }
+}
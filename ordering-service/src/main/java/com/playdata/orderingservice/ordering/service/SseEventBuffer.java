@@ -0,0 +1,94 @@
+package com.playdata.orderingservice.ordering.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/*
+    최근 SSE 이벤트 보관용 링 버퍼 (인스턴스별, 메모리)
+
+    이벤트 id = "<인스턴스 id>-<순번>"
+    - 브라우저는 재연결할 때 마지막으로 받은 id를 Last-Event-ID 헤더로 보냄
+    - 같은 인스턴스가 만든 id이고, 그 다음 이벤트가 아직 버퍼에 남아 있으면 놓친 이벤트만 다시 보낼 수 있음
+    - 다른 인스턴스(또는 재시작 전)의 id이거나 너무 오래돼서 밀려난 경우에는 이어받기 불가 (since가 null)
+
+    data는 JSON으로 한 번만 직렬화해서 보관 (연결 수만큼 다시 직렬화하지 않음)
+    동기화는 호출하는 쪽(AdminSseService)에서 함.
+ */
+public class SseEventBuffer {
+
+    // bytes: 전송될 때의 대략적인 크기 (id, event, data 줄 포함)
+    public record BufferedEvent(long sequence, String id, String name, String json, int bytes) {
+    }
+
+    // 서버가 뜰 때마다 새로 만듦 -> 재시작 전의 id와 섞이지 않음
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final BufferedEvent[] events;
+    private long lastSequence = 0;
+    // 버퍼에 들어있는 이벤트 크기 합계 (지표용이라 동기화 없이 읽음)
+    private volatile long totalBytes = 0;
+
+    public SseEventBuffer(int capacity) {
+        this.events = new BufferedEvent[capacity];
+    }
+
+    public BufferedEvent append(String name, String json) {
+        long sequence = ++lastSequence;
+        String id = instanceId + "-" + sequence;
+        int bytes = json.getBytes(StandardCharsets.UTF_8).length + id.length() + name.length() + 20;
+        BufferedEvent event = new BufferedEvent(sequence, id, name, json, bytes);
+
+        int slot = (int) (sequence % events.length);
+        BufferedEvent evicted = events[slot];
+        events[slot] = event;
+        totalBytes += bytes - (evicted == null ? 0 : evicted.bytes());
+        return event;
+    }
+
+    public long totalBytes() {
+        return totalBytes;
+    }
+
+    // 마지막으로 추가된 이벤트의 순번 (아직 없으면 0)
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * lastEventId 이후의 이벤트 (오래된 순)
+     *
+     * @return - 이어받을 수 없는 id면 null
+     */
+    public List<BufferedEvent> since(String lastEventId) {
+        Long after = parseSequence(lastEventId);
+        return after == null ? null : since(after);
+    }
+
+    /**
+     * 순번 after 이후의 이벤트 (오래된 순)
+     *
+     * @return - 그 사이 이벤트 중 일부가 이미 밀려났으면 null
+     */
+    public List<BufferedEvent> since(long after) {
+        if (after > lastSequence) return null;
+
+        long oldest = Math.max(1, lastSequence - events.length + 1);
+        if (after + 1 < oldest) return null; // 놓친 이벤트 중 일부가 이미 밀려남
+
+        List<BufferedEvent> missed = new ArrayList<>();
+        for (long sequence = after + 1; sequence <= lastSequence; sequence++) {
+            missed.add(events[(int) (sequence % events.length)]);
+        }
+        return missed;
+    }
+
+    private Long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(instanceId + "-")) return null;
+        try {
+            return Long.parseLong(lastEventId.substring(instanceId.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.playdata.orderingservice.ordering.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.playdata.orderingservice.common.event.UserChangedEvent;
+import com.playdata.orderingservice.ordering.dto.UserResDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/*
+    주문 시 이메일로 회원 정보를 찾는 캐시 (이메일 -> UserResDTO)
+
+    [로컬 캐시] → [Redis (선택)] → [user-service]
+    - 로컬: 인스턴스마다 가지는 메모리 캐시 (최대 개수, 만료 시간 제한)
+    - Redis: 여러 인스턴스가 공유하는 캐시 (ordering.user-cache.redis-enabled: true일 때만 사용)
+    - 회원 정보가 바뀌면 user-service가 bus로 UserChangedEvent를 보내고, 여기서 두 캐시 모두 삭제
+
+    이미 조회된 적 있는 회원은 user-service가 잠깐 죽어 있어도 주문이 보류되지 않음.
+ */
+@Component
+@Slf4j
+public class UserInfoCache {
+
+    private static final String KEY_PREFIX = "ordering:user:";
+
+    private final Cache<String, UserResDTO> localCache;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final boolean redisEnabled;
+    private final Duration ttl;
+
+    public UserInfoCache(RedisTemplate<String, Object> redisTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${ordering.user-cache.max-size:10000}") long maxSize,
+                         @Value("${ordering.user-cache.ttl:30m}") Duration ttl,
+                         @Value("${ordering.user-cache.redis-enabled:false}") boolean redisEnabled) {
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled;
+        this.ttl = ttl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "userInfo");
+    }
+
+    /**
+     * 캐시에서 회원 정보를 찾고, 없으면 loader(user-service 호출)로 조회 후 저장
+     */
+    public UserResDTO get(String email, Supplier<UserResDTO> loader) {
+        UserResDTO cached = localCache.getIfPresent(email);
+        if (cached != null) return cached;
+
+        cached = getFromRedis(email);
+        if (cached != null) {
+            localCache.put(email, cached);
+            return cached;
+        }
+
+        UserResDTO loaded = loader.get();
+        if (loaded != null && loaded.getId() != null) {
+            localCache.put(email, loaded);
+            putToRedis(email, loaded);
+        }
+        return loaded;
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        log.info("회원 변경 이벤트 수신 -> 회원 캐시 삭제: {}", event.getEmail());
+        evict(event.getEmail());
+    }
+
+    public void evict(String email) {
+        localCache.invalidate(email);
+        if (!redisEnabled) return;
+        try {
+            redisTemplate.delete(KEY_PREFIX + email);
+        } catch (Exception e) {
+            log.warn("Redis 회원 캐시 삭제 실패: {}, 이유: {}", email, e.getMessage());
+        }
+    }
+
+    // Redis 장애는 캐시 미스로 취급 (주문은 user-service 조회로 계속 진행)
+    private UserResDTO getFromRedis(String email) {
+        if (!redisEnabled) return null;
+        try {
+            Object value = redisTemplate.opsForValue().get(KEY_PREFIX + email);
+            return value instanceof UserResDTO dto ? dto : null;
+        } catch (Exception e) {
+            log.warn("Redis 회원 캐시 조회 실패: {}, 이유: {}", email, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putToRedis(String email, UserResDTO dto) {
+        if (!redisEnabled) return;
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + email, dto, ttl);
+        } catch (Exception e) {
+            log.warn("Redis 회원 캐시 저장 실패: {}, 이유: {}", email, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.playdata.orderingservice.ordering.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playdata.orderingservice.common.configs.ReactiveSseConfig;
+import com.playdata.orderingservice.ordering.dto.OrderNotificationEvent;
+import com.playdata.orderingservice.ordering.service.AdminSseService;
+import com.playdata.orderingservice.ordering.service.OrderEventReplayStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.netty.DisposableServer;
+import reactor.netty.resources.LoopResources;
+import redis.embedded.RedisServer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 대기만 하는 구독자 10,000개를 이벤트 루프 스레드 2개로 유지하고, 알림 하나가 모두에게 전달되는지 확인
+// 최근 알림 보관소는 내장 Redis에서 실제로 실행 -> 구독마다 하는 Redis 조회(backlog)까지 포함해서 측정
+// 소켓 10,000개를 여는 부하 테스트라 기본 test에서는 빠짐 -> ./gradlew loadTest
+@Tag("load")
+class ReactiveSseHandlerTest {
+
+    private static final int SUBSCRIBERS = Integer.getInteger("sse.reactive.subscribers", 10_000);
+    private static final int WORKER_THREADS = 2;
+    // 구독 시 pending-order로 받는 최근 알림 수
+    private static final int BACKLOG = 5;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private ThreadPoolTaskExecutor executor;
+    private LoopResources loopResources;
+    private DisposableServer server;
+    private Process client;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        redisServer = new RedisServer(freePort());
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", redisServer.ports().get(0)));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws Exception {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        loopResources = LoopResources.create("sse-reactive", 1, WORKER_THREADS, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) client.destroyForcibly();
+        if (server != null) server.disposeNow();
+        loopResources.dispose();
+        executor.shutdown();
+    }
+
+    @Test
+    void holdsManyIdleSubscribersOnFixedThreads() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        AdminSseService adminSseService = new AdminSseService(executor, objectMapper, meterRegistry,
+                256, "drop-oldest", 200, 1000, Duration.ofSeconds(45), Duration.ofSeconds(5));
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+        OrderEventReplayStore replayStore = new OrderEventReplayStore(redisTemplate, objectMapper,
+                Duration.ofHours(24), 1000, 100);
+        for (long orderId = 1; orderId <= BACKLOG; orderId++) {
+            replayStore.save(event(orderId));
+        }
+        ReactiveSseHandler handler = new ReactiveSseHandler(adminSseService, replayStore,
+                meterRegistry, 60_000, SUBSCRIBERS + 100);
+
+        server = ReactiveSseConfig.startServer(handler.routes(), loopResources, "127.0.0.1", 0);
+        long threadsBefore = connectionThreads();
+
+        client = new ProcessBuilder(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"),
+                ReactiveSseLoadClient.class.getName(),
+                String.valueOf(server.port()), String.valueOf(SUBSCRIBERS))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        BufferedReader output = new BufferedReader(new InputStreamReader(client.getInputStream()));
+
+        assertEquals("READY " + SUBSCRIBERS, output.readLine());
+        assertEquals(SUBSCRIBERS, handler.connectionCount());
+
+        // 구독자 수와 관계없이 서버 스레드는 accept 1개 + 이벤트 루프 WORKER_THREADS개
+        long serverThreads = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("sse-reactive"))
+                .count();
+        assertTrue(serverThreads <= WORKER_THREADS + 1, "server threads: " + serverThreads);
+        long threadsAfter = connectionThreads();
+        assertTrue(threadsAfter - threadsBefore < 20,
+                "threads before: " + threadsBefore + ", after: " + threadsAfter);
+
+        // 응답 헤더/connect 전송과 Sinks 구독 등록은 이벤트 루프에서 비동기로 끝나므로 모두 붙을 때까지 대기
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (adminSseService.reactiveSubscriberCount() < SUBSCRIBERS && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        // 운영과 같이 보관소 저장 후 broadcast
+        OrderNotificationEvent event = event(BACKLOG + 1);
+        assertEquals(SUBSCRIBERS, adminSseService.publish("new-order", event, () -> replayStore.save(event)));
+        assertEquals("RECEIVED " + SUBSCRIBERS, output.readLine());
+        assertEquals("BACKLOG " + SUBSCRIBERS * BACKLOG, output.readLine());
+        assertTrue(client.waitFor(30, TimeUnit.SECONDS));
+    }
+
+    private static OrderNotificationEvent event(long orderId) {
+        return OrderNotificationEvent.builder()
+                .orderId(orderId)
+                .customerEmail("customer@test.com")
+                .orderStatus("ORDERED")
+                .totalItems(1)
+                .orderTime(LocalDateTime.now())
+                .orderItems(List.of(new OrderNotificationEvent.OrderItemInfo(10L, 1)))
+                .build();
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // Reactor 공용 스케줄러(boundedElastic: Redis 조회, parallel: heartbeat 타이머)는 CPU 수만큼 늘어날 수 있으므로 제외
+    private static long connectionThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .map(Thread::getName)
+                .filter(name -> !name.startsWith("boundedElastic") && !name.startsWith("parallel"))
+                .count();
+    }
+}
@@ -0,0 +1,86 @@
+package com.playdata.orderingservice.ordering.controller;
+
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    ReactiveSseHandlerTest용 SSE 구독 클라이언트 (별도 JVM에서 실행)
+
+    구독자 수만큼 소켓을 열어야 해서 테스트 JVM과 파일 디스크립터 한도를 나눠 쓰지 않도록 프로세스를 분리함.
+    표준 출력: "READY <connect 이벤트를 받은 연결 수>", "RECEIVED <new-order 이벤트를 받은 연결 수>",
+              "BACKLOG <모든 연결이 받은 pending-order 이벤트 수 합계>"
+ */
+class ReactiveSseLoadClient {
+
+    private static final int BATCH = 500;
+
+    public static void main(String[] args) throws Exception {
+        int port = Integer.parseInt(args[0]);
+        int subscribers = Integer.parseInt(args[1]);
+
+        AtomicInteger connected = new AtomicInteger();
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger backlog = new AtomicInteger();
+        HttpClient client = HttpClient.create(ConnectionProvider.newConnection())
+                .runOn(LoopResources.create("sse-client", 1, true))
+                .host("127.0.0.1")
+                .port(port);
+
+        for (int i = 0; i < subscribers; i++) {
+            String email = "admin" + i + "@test.com";
+            client.headers(headers -> headers.add("X-User-Email", email).add("X-User-Role", "ADMIN"))
+                    .get()
+                    .uri("/subscribe")
+                    .responseContent()
+                    .asString()
+                    // 이벤트가 청크 경계에서 잘릴 수 있으므로 줄 단위로 셈
+                    .transform(ReactiveSseLoadClient::lines)
+                    .doOnNext(line -> {
+                        if (line.equals("event:connect")) connected.incrementAndGet();
+                        if (line.equals("event:pending-order")) backlog.incrementAndGet();
+                        if (line.equals("event:new-order")) received.incrementAndGet();
+                    })
+                    .takeUntil(line -> line.equals("event:new-order"))
+                    .subscribe(line -> {
+                    }, e -> System.err.println("subscribe failed: " + e));
+
+            // 한 번에 모두 connect하면 accept backlog가 넘칠 수 있어서 BATCH개씩 연결이 끝나길 기다림
+            if ((i + 1) % BATCH == 0 || i + 1 == subscribers) {
+                await(connected, i + 1);
+            }
+        }
+        System.out.println("READY " + connected.get());
+
+        await(received, subscribers);
+        System.out.println("RECEIVED " + received.get());
+        System.out.println("BACKLOG " + backlog.get());
+    }
+
+    // 청크를 줄 단위로 나눔 (끝나지 않은 마지막 줄은 다음 청크와 이어 붙임)
+    private static Flux<String> lines(Flux<String> chunks) {
+        StringBuilder rest = new StringBuilder();
+        return chunks.concatMapIterable(chunk -> {
+            rest.append(chunk);
+            List<String> lines = new ArrayList<>();
+            int end;
+            while ((end = rest.indexOf("\n")) >= 0) {
+                lines.add(rest.substring(0, end));
+                rest.delete(0, end + 1);
+            }
+            return lines;
+        });
+    }
+
+    private static void await(AtomicInteger counter, int target) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (counter.get() < target && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
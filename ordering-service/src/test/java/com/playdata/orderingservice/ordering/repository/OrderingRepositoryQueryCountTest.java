@@ -0,0 +1,128 @@
+package com.playdata.orderingservice.ordering.repository;
+
+import com.github.gavlyukovskiy.boot.jdbc.decorator.DataSourceDecoratorAutoConfiguration;
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import com.playdata.orderingservice.ordering.entity.OrderDetail;
+import com.playdata.orderingservice.ordering.entity.Ordering;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 주문 내역 조회 시 주문 수와 관계없이 쿼리 수가 일정한지 p6spy로 확인
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(DataSourceDecoratorAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ordering;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.cloud.config.enabled=false"
+})
+class OrderingRepositoryQueryCountTest {
+
+    private static final int ORDERS = 20;
+    private static final long USER_ID = 1L;
+
+    @TestConfiguration
+    static class QueryCounterConfig {
+        @Bean
+        QueryCounter queryCounter() {
+            return new QueryCounter();
+        }
+    }
+
+    // p6spy가 실행한 SELECT 문 개수를 세는 리스너
+    static class QueryCounter extends JdbcEventListener {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void onAfterExecuteQuery(PreparedStatementInformation statementInformation,
+                                        long timeElapsedNanos, SQLException e) {
+            count.incrementAndGet();
+        }
+
+        void reset() {
+            count.set(0);
+        }
+
+        int get() {
+            return count.get();
+        }
+    }
+
+    @Autowired
+    private OrderingRepository orderingRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ORDERS; i++) {
+            Ordering ordering = Ordering.builder()
+                    .userId(USER_ID)
+                    .userEmail("user@test.com")
+                    .orderDetails(new ArrayList<>())
+                    .build();
+            for (long prodId = 1; prodId <= 3; prodId++) {
+                ordering.getOrderDetails().add(OrderDetail.builder()
+                        .productId(prodId)
+                        .quantity(1)
+                        .ordering(ordering)
+                        .build());
+            }
+            em.persist(ordering);
+        }
+        em.flush();
+        em.clear();
+        queryCounter.reset();
+    }
+
+    @Test
+    void findByUserIdLoadsDetailsLazily() {
+        List<Ordering> orders = orderingRepository.findByUserId(USER_ID);
+        int details = orders.stream().mapToInt(o -> o.getOrderDetails().size()).sum();
+
+        assertEquals(ORDERS * 3, details);
+        // 주문 조회 1번 + 주문마다 상세 조회 1번씩
+        assertEquals(1 + ORDERS, queryCounter.get());
+    }
+
+    @Test
+    void keysetPageLoadsDetailsWithTwoQueries() {
+        List<Long> ids = orderingRepository.findIdsByUserIdBefore(
+                USER_ID, Long.MAX_VALUE, PageRequest.of(0, 10));
+        List<Ordering> orders = orderingRepository.findWithDetailsByIdIn(ids);
+        int details = orders.stream().mapToInt(o -> o.getOrderDetails().size()).sum();
+
+        assertEquals(10, orders.size());
+        assertEquals(10 * 3, details);
+        // 페이지 주문 번호 조회 1번 + 주문/상세 조회 1번
+        assertEquals(2, queryCounter.get());
+
+        // 다음 페이지는 이전 페이지 마지막 번호보다 작은 주문들
+        List<Long> nextIds = orderingRepository.findIdsByUserIdBefore(
+                USER_ID, ids.get(ids.size() - 1), PageRequest.of(0, 10));
+        assertEquals(10, nextIds.size());
+        assertTrue(nextIds.get(0) < ids.get(ids.size() - 1));
+    }
+}
@@ -0,0 +1,473 @@
+package com.playdata.orderingservice.ordering.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 느린 관리자 연결이 다른 연결의 발송과 broadcast 호출을 막지 않는지, 대기열 초과 정책과 재연결 이어받기,
+// heartbeat 정리와 최대 연결 수가 동작하는지 확인
+class AdminSseServiceTest {
+
+    private final ThreadPoolTaskExecutor executor = executor();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void slowConnectionDoesNotBlockOthers() throws Exception {
+        AdminSseService service = service(16, "drop-oldest", 200);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        service.connect("slow@test.com", slow, null);
+        service.connect("fast@test.com", fast, null);
+
+        assertEquals(2, service.broadcast("new-order", 0));
+        slow.awaitStarted();
+
+        // 느린 연결은 release 전까지 전송 중에 멈춰 있음 -> broadcast가 그 연결을 기다린다면 끝나지 않음
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 1; i < 10; i++) {
+                assertEquals(2, service.broadcast("new-order", i));
+            }
+        });
+
+        fast.awaitSent(10);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), fast.sent);
+        assertTrue(slow.sent.size() <= 1);
+
+        release.countDown();
+        slow.awaitSent(10);
+        assertEquals(fast.sent, slow.sent);
+        assertTrue(meterRegistry.get("sse.send.latency").timer().count() >= 20);
+    }
+
+    @Test
+    void dropOldestKeepsNewestEvents() throws Exception {
+        AdminSseService service = service(4, "drop-oldest", 200);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        service.connect("slow@test.com", slow, null);
+
+        // connect 이벤트 전송 중에 멈춤
+        slow.awaitStarted();
+        for (int i = 1; i <= 10; i++) {
+            service.broadcast("new-order", i);
+        }
+        assertEquals(4, meterRegistry.get("sse.queue.depth").gauge().value());
+
+        release.countDown();
+        slow.awaitSent(4);
+        // 대기열에 남은 가장 최근 4개
+        assertEquals(List.of(7, 8, 9, 10), slow.sent);
+        assertEquals(6, meterRegistry.get("sse.events.dropped").tag("policy", "drop_oldest").counter().count());
+        assertEquals(1, service.connectionCount());
+    }
+
+    @Test
+    void disconnectPolicyClosesSlowConnection() throws Exception {
+        AdminSseService service = service(4, "disconnect", 200);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        service.connect("slow@test.com", slow, null);
+        service.connect("fast@test.com", fast, null);
+
+        service.broadcast("new-order", 0);
+        slow.awaitStarted();
+        fast.awaitSent(1);
+        for (int i = 1; i <= 10; i++) {
+            service.broadcast("new-order", i);
+            fast.awaitSent(i + 1);
+        }
+
+        // 느린 연결만 끊기고 빠른 연결은 모두 받음
+        assertEquals(1, service.connectionCount());
+        assertEquals(1, meterRegistry.get("sse.events.dropped").tag("policy", "disconnect").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    void sameAdminKeepsEveryTabOpen() throws Exception {
+        AdminSseService service = service(16, "drop-oldest", 200);
+        RecordingEmitter first = new RecordingEmitter(null);
+        RecordingEmitter second = new RecordingEmitter(null);
+        service.connect("admin@test.com", first, null);
+        service.connect("admin@test.com", second, null);
+
+        assertEquals(2, service.connectionCount("admin@test.com"));
+        assertEquals(2, service.broadcast("new-order", 1));
+        first.awaitSent(1);
+        second.awaitSent(1);
+    }
+
+    @Test
+    void reconnectReplaysOnlyMissedEvents() throws Exception {
+        AdminSseService service = service(16, "drop-oldest", 3);
+        RecordingEmitter first = new RecordingEmitter(null);
+        SseConnection connection = service.connect("admin@test.com", first, null).connection();
+        service.broadcast("new-order", 1);
+        service.broadcast("new-order", 2);
+        first.awaitSent(2);
+        connection.close();
+
+        // 끊긴 사이에 들어온 이벤트
+        service.broadcast("new-order", 3);
+        service.broadcast("new-order", 4);
+
+        RecordingEmitter resumed = new RecordingEmitter(null);
+        assertTrue(service.connect("admin@test.com", resumed, first.lastId).resumed());
+        resumed.awaitSent(2);
+        assertEquals(List.of(3, 4), resumed.sent);
+
+        // 버퍼(3개)에서 이미 밀려난 이벤트 이후로는 이어받을 수 없음 (보관소에서 보내는 건 controller 담당)
+        service.broadcast("new-order", 5);
+        service.broadcast("new-order", 6);
+        RecordingEmitter stale = new RecordingEmitter(null);
+        assertFalse(service.connect("admin@test.com", stale, first.lastId).resumed());
+
+        // 다른 인스턴스가 만든 id
+        RecordingEmitter other = new RecordingEmitter(null);
+        assertFalse(service.connect("admin@test.com", other, "other-1").resumed());
+    }
+
+    // 구독(등록 + 보관소 조회) 도중에 들어온 알림은 최근 알림(pending-order)과 실시간(new-order) 중 한 번만 감
+    @Test
+    void eventPublishedWhileSubscribingIsDeliveredOnce() throws Exception {
+        AdminSseService service = service(16, "drop-oldest", 200);
+        List<Object> store = new CopyOnWriteArrayList<>(List.of(1));
+        Thread publisher = new Thread(() -> service.publish("new-order", 2, () -> store.add(2)));
+        RecordingEmitter emitter = new RecordingEmitter(null);
+
+        service.connect("admin@test.com", emitter, null, () -> readWhilePublishing(publisher, store));
+        publisher.join(5000);
+
+        emitter.awaitSent(2);
+        Thread.sleep(100);
+        assertEquals(List.of(1, 2), emitter.sent);
+    }
+
+    @Test
+    void eventPublishedWhileStreamSubscribesIsDeliveredOnce() throws Exception {
+        AdminSseService service = service(16, "drop-oldest", 200);
+        List<Object> store = new CopyOnWriteArrayList<>(List.of(1));
+        Thread publisher = new Thread(() -> service.publish("new-order", 2, () -> store.add(2)));
+
+        List<String> received = service.stream(null, () -> readWhilePublishing(publisher, store))
+                .take(2)
+                .map(event -> event.name() + ":" + event.json())
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        publisher.join(5000);
+
+        assertEquals(List.of("pending-order:1", "new-order:2"), received);
+    }
+
+    // 보관소에 저장됐지만 아직 broadcast 전인 알림 -> backlog에서 빼고 실시간으로 한 번만 감
+    @Test
+    void eventStoredBeforeBacklogReadButBroadcastAfterIsDeliveredOnce() throws Exception {
+        AdminSseService service = service(16, "drop-oldest", 200);
+        List<Object> store = new CopyOnWriteArrayList<>(List.of(1));
+        CountDownLatch stored = new CountDownLatch(1);
+        CountDownLatch subscribed = new CountDownLatch(1);
+        Thread publisher = new Thread(() -> service.publish("new-order", 2, () -> {
+            store.add(2);
+            stored.countDown();
+            await(subscribed);
+        }));
+        publisher.start();
+        assertTrue(stored.await(5, TimeUnit.SECONDS));
+
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        service.connect("admin@test.com", emitter, null, () -> List.copyOf(store));
+        subscribed.countDown();
+        publisher.join(5000);
+
+        emitter.awaitSent(2);
+        Thread.sleep(100);
+        assertEquals(List.of(1, 2), emitter.sent);
+    }
+
+    // 보관소(Redis) 조회가 멈춰 있어도 알림 발행과 다른 관리자의 구독은 기다리지 않음
+    @Test
+    void slowBacklogReadDoesNotBlockPublishOrOtherSubscribers() throws Exception {
+        AdminSseService service = service(16, "drop-oldest", 200);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(null);
+        Thread subscriber = new Thread(() -> service.connect("slow@test.com", slow, null, () -> {
+            reading.countDown();
+            await(release);
+            return List.of();
+        }));
+        subscriber.start();
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+        RecordingEmitter other = new RecordingEmitter(null);
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            service.publish("new-order", 1, () -> { });
+            assertNotNull(service.connect("other@test.com", other, null, List::of));
+            service.publish("new-order", 2, () -> { });
+            service.stream(null, List::of).subscribe().dispose();
+        });
+        other.awaitSent(1);
+        assertEquals(List.of(2), other.sent);
+
+        // 조회가 끝나면 그 사이 발행된 알림까지 받음
+        release.countDown();
+        subscriber.join(5000);
+        slow.awaitSent(2);
+        assertEquals(List.of(1, 2), slow.sent);
+    }
+
+    @Test
+    void rejectsConnectionsOverLimit() {
+        AdminSseService service = new AdminSseService(executor, new ObjectMapper(), meterRegistry,
+                16, "drop-oldest", 200, 1, Duration.ofSeconds(45), Duration.ofSeconds(5));
+        assertNotNull(service.connect("a@test.com", new RecordingEmitter(null), null));
+        assertNull(service.connect("b@test.com", new RecordingEmitter(null), null));
+        assertEquals(1, meterRegistry.get("sse.connections.rejected").counter().count());
+    }
+
+    @Test
+    void heartbeatReapsStalledConnections() throws Exception {
+        AdminSseService service = new AdminSseService(executor, new ObjectMapper(), meterRegistry,
+                16, "drop-oldest", 200, 10, Duration.ofMillis(200), Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(release);
+        RecordingEmitter healthy = new RecordingEmitter(null);
+        service.connect("stalled@test.com", stalled, null);
+        service.connect("healthy@test.com", healthy, null);
+
+        // 정상 연결은 heartbeat가 계속 나가므로 dead-after가 지나도 유지됨
+        for (int i = 0; i < 5; i++) {
+            Thread.sleep(100);
+            service.heartbeat();
+        }
+        assertEquals(1, service.connectionCount());
+        assertEquals(1, service.connectionCount("healthy@test.com"));
+        assertTrue(healthy.heartbeats.get() >= 3);
+        assertEquals(1, meterRegistry.get("sse.connections.reaped").counter().count());
+        release.countDown();
+    }
+
+    // 전송이 멈춘 연결이 발송 스레드(4개)보다 많아도 send-timeout이 지나면 닫히고 정상 연결은 계속 받음
+    @Test
+    void stalledSendsBeyondPoolSizeAreClosed() throws Exception {
+        AdminSseService service = new AdminSseService(executor, new ObjectMapper(), meterRegistry,
+                16, "drop-oldest", 200, 100, Duration.ofSeconds(45), Duration.ofMillis(200));
+        CountDownLatch release = new CountDownLatch(1);
+        List<RecordingEmitter> stalled = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            RecordingEmitter emitter = new RecordingEmitter(release);
+            stalled.add(emitter);
+            service.connect("stalled" + i + "@test.com", emitter, null);
+        }
+        RecordingEmitter healthy = new RecordingEmitter(null);
+        service.connect("healthy@test.com", healthy, null);
+        for (int i = 0; i < 10; i++) {
+            service.broadcast("new-order", i);
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        // 뒤늦게 발송 스레드를 받은 멈춘 연결도 send-timeout 뒤에 닫힐 때까지
+        while ((healthy.sent.size() < 10 || service.connectionCount() > 1) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            service.reapStalledSends();
+        }
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), healthy.sent);
+        assertEquals(1, service.connectionCount());
+        assertEquals(6, meterRegistry.get("sse.send.timeouts").counter().count());
+        stalled.forEach(emitter -> assertTrue(emitter.sent.isEmpty()));
+
+        // 돌려받은 발송 스레드로 이후 이벤트도 계속 보냄
+        service.broadcast("new-order", 10);
+        healthy.awaitSent(11);
+        release.countDown();
+    }
+
+    // 대기열이 긴 연결도 drain 한 번에 발송 스레드를 독차지하지 않음 (한 번에 일부만 보내고 양보)
+    @Test
+    void longQueueDoesNotMonopolizeWriter() throws Exception {
+        ThreadPoolTaskExecutor single = new ThreadPoolTaskExecutor();
+        single.setCorePoolSize(1);
+        single.setMaxPoolSize(1);
+        single.initialize();
+        try {
+            AdminSseService service = new AdminSseService(single, new ObjectMapper(), meterRegistry,
+                    1000, "drop-oldest", 200, 100, Duration.ofSeconds(45), Duration.ofSeconds(5));
+            List<String> order = new CopyOnWriteArrayList<>();
+            service.connect("busy@test.com", new OrderEmitter("busy", order), null);
+            service.connect("quiet@test.com", new OrderEmitter("quiet", order), null);
+
+            CountDownLatch blocked = new CountDownLatch(1);
+            CountDownLatch unblock = new CountDownLatch(1);
+            single.execute(() -> {
+                blocked.countDown();
+                await(unblock);
+            });
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            // 발송 스레드가 막힌 사이 busy에 이벤트 200개, quiet에 1개가 쌓임
+            SseConnection busy = service.connections().stream()
+                    .filter(connection -> connection.getUserEmail().equals("busy@test.com"))
+                    .findFirst().orElseThrow();
+            for (int i = 0; i < 200; i++) {
+                busy.enqueue(SseEmitter.event().name("new-order").data("1", MediaType.APPLICATION_JSON));
+            }
+            service.broadcast("new-order", 1);
+            unblock.countDown();
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (order.size() < 204 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(204, order.size());
+            // quiet의 이벤트(connect + new-order)는 busy의 대기열이 다 비기 전에 나감
+            assertTrue(order.lastIndexOf("quiet") < order.lastIndexOf("busy"), order::toString);
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void reportsQueuedAndBufferedBytes() throws Exception {
+        AdminSseService service = service(16, "drop-oldest", 200);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        service.connect("slow@test.com", slow, null);
+        slow.awaitStarted();
+
+        service.broadcast("new-order", 1);
+        service.broadcast("new-order", 2);
+        double queued = meterRegistry.get("sse.memory.bytes").tag("area", "queue").gauge().value();
+        double buffered = meterRegistry.get("sse.memory.bytes").tag("area", "replay-buffer").gauge().value();
+        assertTrue(queued > 0);
+        assertEquals(buffered, queued);
+
+        release.countDown();
+        slow.awaitSent(2);
+        assertEquals(0, meterRegistry.get("sse.memory.bytes").tag("area", "queue").gauge().value());
+    }
+
+    // 보관소를 읽는 도중에 새 알림이 들어옴 (저장 + broadcast까지 끝남)
+    private static List<Object> readWhilePublishing(Thread publisher, List<Object> store) {
+        publisher.start();
+        try {
+            publisher.join(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return List.copyOf(store);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private AdminSseService service(int queueCapacity, String overflowPolicy, int replayBufferSize) {
+        return new AdminSseService(executor, new ObjectMapper(), meterRegistry,
+                queueCapacity, overflowPolicy, replayBufferSize, 1000, Duration.ofSeconds(45), Duration.ofSeconds(5));
+    }
+
+    private static ThreadPoolTaskExecutor executor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.initialize();
+        return executor;
+    }
+
+    // 어느 연결이 보냈는지 순서대로 기록하는 emitter
+    private static class OrderEmitter extends SseEmitter {
+
+        private final String name;
+        private final List<String> order;
+
+        OrderEmitter(String name, List<String> order) {
+            super(0L);
+            this.name = name;
+            this.order = order;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            order.add(name);
+        }
+    }
+
+    // 전송된 data를 기록하는 emitter (release가 있으면 풀릴 때까지 전송이 멈춤 -> 느린 클라이언트)
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Object> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile String lastId;
+        private final AtomicInteger heartbeats = new AtomicInteger();
+
+        RecordingEmitter(CountDownLatch release) {
+            super(0L);
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            started.countDown();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            for (DataWithMediaType part : builder.build()) {
+                String text = part.getData().toString();
+                if (MediaType.APPLICATION_JSON.equals(part.getMediaType())) {
+                    sent.add(Integer.valueOf(text));
+                } else if (text.startsWith("id:")) {
+                    lastId = text.substring(3, text.indexOf('\n'));
+                } else if (text.startsWith(":heartbeat")) {
+                    heartbeats.incrementAndGet();
+                }
+            }
+        }
+
+        void awaitStarted() throws InterruptedException {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        }
+
+        void awaitSent(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (sent.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, sent.size());
+        }
+    }
+}
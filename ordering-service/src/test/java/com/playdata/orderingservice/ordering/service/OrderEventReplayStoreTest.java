@@ -0,0 +1,134 @@
+package com.playdata.orderingservice.ordering.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playdata.orderingservice.ordering.dto.OrderNotificationEvent;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 최근 주문 알림 보관소를 내장 Redis에서 실행해 순서, 개수 제한, 보관 기간, Redis 장애 시 동작을 확인
+class OrderEventReplayStoreTest {
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        redisServer = new RedisServer(freePort());
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", redisServer.ports().get(0)));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws Exception {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+    }
+
+    @Test
+    void recentReturnsSavedEventsOldestFirst() throws Exception {
+        OrderEventReplayStore store = store(Duration.ofHours(24), 1000, 100);
+        saveAll(store, 1, 2, 3);
+
+        List<OrderNotificationEvent> recent = store.recent();
+        assertEquals(List.of(1L, 2L, 3L), orderIds(recent));
+        assertEquals("admin@test.com", recent.get(0).getCustomerEmail());
+        assertEquals(2, recent.get(0).getOrderItems().get(0).getQuantity());
+    }
+
+    // 보관은 max-size개까지, 구독 시에는 그중 최근 backlog-size개만
+    @Test
+    void keepsMaxSizeAndReturnsNewestBacklog() throws Exception {
+        OrderEventReplayStore store = store(Duration.ofHours(24), 4, 2);
+        saveAll(store, 1, 2, 3, 4, 5, 6);
+
+        assertEquals(4L, redisTemplate.opsForZSet().zCard("ordering:sse:order-events"));
+        assertEquals(List.of(5L, 6L), orderIds(store.recent()));
+    }
+
+    @Test
+    void expiredEventsAreNotReturned() throws Exception {
+        OrderEventReplayStore store = store(Duration.ofMillis(300), 1000, 100);
+        saveAll(store, 1);
+        Thread.sleep(400);
+        saveAll(store, 2);
+
+        // 보관 기간이 지난 알림은 조회에서 빠지고, 다음 저장 때 지워짐
+        assertEquals(List.of(2L), orderIds(store.recent()));
+        assertEquals(1L, redisTemplate.opsForZSet().zCard("ordering:sse:order-events"));
+        assertTrue(redisTemplate.getExpire("ordering:sse:order-events") <= 1);
+    }
+
+    // Redis가 없어도 알림 처리(저장)와 구독(조회)은 실패하지 않음
+    @Test
+    void redisFailureIsIgnored() throws Exception {
+        LettuceConnectionFactory unreachable = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", freePort()));
+        unreachable.afterPropertiesSet();
+        try {
+            OrderEventReplayStore store = new OrderEventReplayStore(new StringRedisTemplate(unreachable),
+                    objectMapper, Duration.ofHours(24), 1000, 100);
+            store.save(event(1));
+            assertEquals(List.of(), store.recent());
+        } finally {
+            unreachable.destroy();
+        }
+    }
+
+    private OrderEventReplayStore store(Duration retention, int maxSize, int backlogSize) {
+        return new OrderEventReplayStore(redisTemplate, objectMapper, retention, maxSize, backlogSize);
+    }
+
+    // score가 저장 시각(ms)이라 같은 ms에 저장하면 순서가 정해지지 않음 -> 저장 사이에 조금씩 기다림
+    private static void saveAll(OrderEventReplayStore store, long... orderIds) throws InterruptedException {
+        for (long orderId : orderIds) {
+            store.save(event(orderId));
+            Thread.sleep(2);
+        }
+    }
+
+    private static OrderNotificationEvent event(long orderId) {
+        return OrderNotificationEvent.builder()
+                .orderId(orderId)
+                .customerEmail("admin@test.com")
+                .orderStatus("ORDERED")
+                .totalItems(2)
+                .orderTime(LocalDateTime.now())
+                .orderItems(List.of(new OrderNotificationEvent.OrderItemInfo(10L, 2)))
+                .build();
+    }
+
+    private static List<Long> orderIds(List<OrderNotificationEvent> events) {
+        return events.stream().map(OrderNotificationEvent::getOrderId).toList();
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
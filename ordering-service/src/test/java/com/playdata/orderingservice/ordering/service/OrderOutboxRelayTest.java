@@ -0,0 +1,194 @@
+package com.playdata.orderingservice.ordering.service;
+
+import com.playdata.orderingservice.ordering.dto.OrderNotificationEvent;
+import com.playdata.orderingservice.ordering.entity.OrderOutbox;
+import com.playdata.orderingservice.ordering.repository.OrderOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// outbox 릴레이의 재시도(발송 실패 -> 롤백 -> 다음 주기 재발송)와 SKIP LOCKED 분배를 H2(MySQL 모드)에서 확인
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.cloud.config.enabled=false",
+        "ordering.outbox.batch-size=5"
+})
+@Import(OrderOutboxRelay.class)
+// 릴레이가 자기 트랜잭션을 커밋/롤백해야 하므로 테스트 메소드를 트랜잭션으로 감싸지 않음.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderOutboxRelayTest {
+
+    @Autowired
+    private OrderOutboxRelay relay;
+
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    // @EnableScheduling의 릴레이가 테스트 중에 끼어들지 않도록 스케줄러를 비워둠 (테스트에서 직접 relay() 호출)
+    // (fixedDelay는 기동 직후 한 번 바로 실행되므로 주기만 늘려서는 첫 테스트와 겹칠 수 있음)
+    @MockBean
+    private TaskScheduler taskScheduler;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void failedPublishIsRetriedOnNextRun() throws Exception {
+        saveMessages(3);
+        RabbitOperations operations = mock(RabbitOperations.class);
+        when(rabbitTemplate.invoke(any()))
+                .thenThrow(new AmqpIOException(new IOException("connection reset")))
+                .thenAnswer(invocation -> invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0)
+                        .doInRabbit(operations));
+
+        // 첫 주기: 발송 실패 -> 롤백, 메시지는 발송 전 상태로 남음
+        assertThrows(IllegalStateException.class, relay::relay);
+        assertEquals(3, unpublishedCount());
+
+        // 다음 주기: 같은 메시지를 다시 발송하고 confirm을 받은 뒤 발송 완료 처리
+        relay.relay();
+        assertEquals(0, unpublishedCount());
+        verify(operations, times(3)).convertAndSend(eq("order.exchange"), eq("order.create"),
+                any(OrderNotificationEvent.class));
+        verify(operations).waitForConfirmsOrDie(anyLong());
+    }
+
+    @Test
+    void unconfirmedBatchIsNotMarkedPublished() {
+        saveMessages(2);
+        RabbitOperations operations = mock(RabbitOperations.class);
+        doAnswer(invocation -> {
+            throw new AmqpIOException(new IOException("confirm timeout"));
+        }).when(operations).waitForConfirmsOrDie(anyLong());
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+
+        assertThrows(IllegalStateException.class, relay::relay);
+        assertEquals(2, unpublishedCount());
+    }
+
+    // 변환할 수 없는 메시지는 재시도해도 실패하므로 발송하지 않고 완료 처리 (뒤의 메시지를 막지 않음)
+    @Test
+    void malformedPayloadIsSkipped() {
+        outboxRepository.save(OrderOutbox.builder()
+                .orderId(1L)
+                .exchange("order.exchange")
+                .routingKey("order.create")
+                .payload("not-json")
+                .build());
+
+        relay.relay();
+
+        assertEquals(0, unpublishedCount());
+        verify(rabbitTemplate, never()).invoke(any());
+    }
+
+    // 한 릴레이가 행을 잠그고 발송 중일 때 다른 릴레이(인스턴스)는 기다리지 않고(SKIP LOCKED) 잠긴 메시지를 건너뜀 -> 중복 발송 없음
+    // (H2는 인덱스로 읽을 때 LIMIT을 먼저 적용해서 두 번째 릴레이가 빈손으로 끝날 수 있음, MySQL은 잠기지 않은 다음 행을 가져감)
+    @Test
+    void concurrentRelayDoesNotPickLockedMessages() throws Exception {
+        saveMessages(10);
+        List<Long> sentOrderIds = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch firstSending = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        RabbitOperations operations = mock(RabbitOperations.class);
+        doAnswer(invocation -> {
+            sentOrderIds.add(invocation.<OrderNotificationEvent>getArgument(2).getOrderId());
+            return null;
+        }).when(operations).convertAndSend(anyString(), anyString(), any(Object.class));
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation -> {
+            Object result = invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations);
+            // 첫 번째 릴레이는 행을 잠근 채로 두 번째 릴레이가 끝날 때까지 대기
+            if (first.getAndSet(false)) {
+                firstSending.countDown();
+                secondDone.await(10, TimeUnit.SECONDS);
+            }
+            return result;
+        });
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<?> firstRelay = pool.submit(relay::relay);
+        assertTrue(firstSending.await(10, TimeUnit.SECONDS));
+
+        // 잠긴 행을 기다렸다면 LOCK_TIMEOUT(10초) 후 예외로 실패
+        long begin = System.nanoTime();
+        relay.relay();
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - begin) < 5);
+        secondDone.countDown();
+        firstRelay.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        // 남은 메시지 발송
+        while (unpublishedCount() > 0) {
+            relay.relay();
+        }
+
+        assertEquals(10, sentOrderIds.size());
+        assertEquals(10, sentOrderIds.stream().distinct().count());
+    }
+
+    private void saveMessages(int count) {
+        for (long orderId = 1; orderId <= count; orderId++) {
+            outboxRepository.save(OrderOutbox.builder()
+                    .orderId(orderId)
+                    .exchange("order.exchange")
+                    .routingKey("order.create")
+                    .payload("{\"orderId\":" + orderId + ",\"customerEmail\":\"user@test.com\",\"orderStatus\":\"ORDERED\"}")
+                    .build());
+        }
+    }
+
+    private long unpublishedCount() {
+        return outboxRepository.findAll().stream()
+                .filter(message -> message.getPublishedAt() == null)
+                .count();
+    }
+}
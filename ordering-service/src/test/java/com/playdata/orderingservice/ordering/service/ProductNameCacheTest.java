@@ -0,0 +1,107 @@
+package com.playdata.orderingservice.ordering.service;
+
+import com.playdata.orderingservice.client.ProductServiceClient;
+import com.playdata.orderingservice.common.dto.CommonResDTO;
+import com.playdata.orderingservice.common.event.ProductChangedEvent;
+import com.playdata.orderingservice.ordering.dto.ProductResDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 상품명 캐시: 없는 상품만 모아서 한 번에 조회, 상품 변경 이벤트로 비우기
+class ProductNameCacheTest {
+
+    private ProductServiceClient productServiceClient;
+    private SimpleMeterRegistry meterRegistry;
+    private ProductNameCache productNameCache;
+
+    @BeforeEach
+    void setUp() {
+        productServiceClient = mock(ProductServiceClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        productNameCache = new ProductNameCache(productServiceClient, meterRegistry, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void fetchesOnlyMissingProducts() {
+        givenProducts(product(1L, "apple"), product(2L, "banana"));
+        assertEquals(Map.of(1L, "apple", 2L, "banana"), productNameCache.getNames(List.of(1L, 2L)));
+        verify(productServiceClient).getProducts(List.of(1L, 2L));
+
+        givenProducts(product(3L, "cherry"));
+        assertEquals(Map.of(1L, "apple", 2L, "banana", 3L, "cherry"),
+                productNameCache.getNames(List.of(1L, 2L, 3L)));
+        verify(productServiceClient).getProducts(List.of(3L));
+
+        // 적중 2건(1, 2) + 실패 3건(처음 1, 2 + 3)
+        assertEquals(2, cacheGets("hit"));
+        assertEquals(3, cacheGets("miss"));
+    }
+
+    @Test
+    void cachedNamesAreServedWithoutCallingProductService() {
+        givenProducts(product(1L, "apple"));
+        productNameCache.getNames(List.of(1L));
+
+        assertEquals(Map.of(1L, "apple"), productNameCache.getNames(List.of(1L)));
+        verify(productServiceClient).getProducts(anyList());
+    }
+
+    @Test
+    void productChangeEvictsOnlyThatProduct() {
+        givenProducts(product(1L, "apple"), product(2L, "banana"));
+        productNameCache.getNames(List.of(1L, 2L));
+
+        productNameCache.onProductChanged(new ProductChangedEvent(this, "product-service", () -> "**",
+                1L, "DELETED"));
+
+        givenProducts(product(1L, "green apple"));
+        assertEquals(Map.of(1L, "green apple", 2L, "banana"), productNameCache.getNames(List.of(1L, 2L)));
+        verify(productServiceClient).getProducts(List.of(1L));
+        verify(productServiceClient, never()).getProducts(List.of(2L));
+    }
+
+    // product-service 응답에 없는 (삭제된) 상품은 결과에서 빠지고, 다음 조회 때 다시 물어봄
+    @Test
+    void missingProductIsNotCached() {
+        givenProducts(product(1L, "apple"));
+        assertEquals(Map.of(1L, "apple"), productNameCache.getNames(List.of(1L, 9L)));
+
+        givenProducts();
+        productNameCache.getNames(List.of(1L, 9L));
+        verify(productServiceClient).getProducts(List.of(9L));
+    }
+
+    private void givenProducts(ProductResDTO... products) {
+        when(productServiceClient.getProducts(anyList()))
+                .thenReturn(new CommonResDTO<>(HttpStatus.OK, "OK", Arrays.asList(products)));
+    }
+
+    private static ProductResDTO product(Long id, String name) {
+        return ProductResDTO.builder()
+                .id(id)
+                .name(name)
+                .build();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "productNames")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,133 @@
+package com.playdata.orderingservice.ordering.service;
+
+import com.playdata.orderingservice.common.event.UserChangedEvent;
+import com.playdata.orderingservice.ordering.dto.UserResDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 회원 캐시: 로컬 -> Redis -> user-service 순서로 조회, Redis 장애는 미스로 처리, 회원 변경 이벤트로 두 캐시 모두 삭제
+class UserInfoCacheTest {
+
+    private static final String EMAIL = "user@test.com";
+    private static final String KEY = "ordering:user:" + EMAIL;
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private ValueOperations<String, Object> valueOperations;
+    private UserInfoCache userInfoCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        userInfoCache = new UserInfoCache(redisTemplate, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(30), true);
+    }
+
+    @Test
+    void localHitDoesNotCallRedisOrUserService() {
+        UserResDTO user = user(1L);
+        CountingLoader loader = new CountingLoader(user);
+        userInfoCache.get(EMAIL, loader);
+
+        assertSame(user, userInfoCache.get(EMAIL, loader));
+        assertEquals(1, loader.calls.get());
+        verify(valueOperations, times(1)).get(KEY);
+        verify(valueOperations).set(KEY, user, Duration.ofMinutes(30));
+    }
+
+    // 다른 인스턴스가 Redis에 넣어둔 회원 -> user-service를 부르지 않고 로컬에도 저장
+    @Test
+    void redisHitIsServedAndCachedLocally() {
+        UserResDTO user = user(1L);
+        when(valueOperations.get(KEY)).thenReturn(user);
+        CountingLoader loader = new CountingLoader(user(2L));
+
+        assertSame(user, userInfoCache.get(EMAIL, loader));
+        assertSame(user, userInfoCache.get(EMAIL, loader));
+        assertEquals(0, loader.calls.get());
+        verify(valueOperations, times(1)).get(KEY);
+    }
+
+    // Redis가 죽어 있어도 user-service 조회로 주문은 계속 진행
+    @Test
+    void redisFailureIsTreatedAsMiss() {
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        UserResDTO user = user(1L);
+        CountingLoader loader = new CountingLoader(user);
+
+        assertSame(user, userInfoCache.get(EMAIL, loader));
+        assertEquals(1, loader.calls.get());
+        // 로컬 캐시에는 저장됨
+        assertSame(user, userInfoCache.get(EMAIL, loader));
+        assertEquals(1, loader.calls.get());
+    }
+
+    // id가 없는 응답은 캐시하지 않음 -> 다음 주문 때 다시 조회
+    @Test
+    void userWithoutIdIsNotCached() {
+        CountingLoader loader = new CountingLoader(user(null));
+
+        assertNull(userInfoCache.get(EMAIL, loader).getId());
+        userInfoCache.get(EMAIL, loader);
+        assertEquals(2, loader.calls.get());
+        verify(valueOperations, never()).set(anyString(), any(), any(Duration.class));
+    }
+
+    @Test
+    void userChangeEvictsLocalAndRedis() {
+        CountingLoader loader = new CountingLoader(user(1L));
+        userInfoCache.get(EMAIL, loader);
+
+        userInfoCache.onUserChanged(new UserChangedEvent(this, "user-service", () -> "**", EMAIL));
+
+        verify(redisTemplate).delete(KEY);
+        userInfoCache.get(EMAIL, loader);
+        assertEquals(2, loader.calls.get());
+    }
+
+    private static UserResDTO user(Long id) {
+        return UserResDTO.builder()
+                .id(id)
+                .email(EMAIL)
+                .name("user")
+                .build();
+    }
+
+    // user-service 호출 횟수를 세는 loader
+    private static class CountingLoader implements Supplier<UserResDTO> {
+
+        private final UserResDTO user;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingLoader(UserResDTO user) {
+            this.user = user;
+        }
+
+        @Override
+        public UserResDTO get() {
+            calls.incrementAndGet();
+            return user;
+        }
+    }
+}
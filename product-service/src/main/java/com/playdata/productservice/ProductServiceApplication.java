@@ -2,8 +2,14 @@ package com.playdata.productservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+// 핫딜 재고 DB 반영 스케줄러
+@EnableScheduling
+// 상품 변경 이벤트(ProductChangedEvent)를 bus로 주고받기 위해 등록
+@RemoteApplicationEventScan(basePackages = "com.playdata.productservice.common.event")
 public class ProductServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,30 @@
+package com.playdata.productservice.common.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // 상품 이미지 썸네일/축소본을 만드는 스레드 풀
+    // 이미지 디코딩은 메모리를 많이 쓰므로 작업 수와 대기열을 모두 제한함.
+    @Bean
+    public ThreadPoolTaskExecutor imageProcessingExecutor(
+            @Value("${product.image.worker-pool-size:2}") int poolSize,
+            @Value("${product.image.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-processing-");
+        // 대기열까지 찼으면 요청 스레드에서 처리하지 않고 거절 (상품은 원본 이미지만으로 조회됨)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+}
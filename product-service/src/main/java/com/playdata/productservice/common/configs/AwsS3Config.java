@@ -1,27 +1,47 @@
 package com.playdata.productservice.common.configs;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.net.URL;
 import java.net.URLDecoder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 // AWS에 연결해서 S3에 관련된 서비스를 실행하는 전용 객체
 @Component
 @Slf4j
 public class AwsS3Config {
 
+    // DeleteObjects 요청 하나에 담을 수 있는 최대 키 개수
+    private static final int MAX_DELETE_KEYS = 1000;
+
     // S3 버킷을 제어하는 객체
+    // 업로드는 요청 스트림을 그대로 흘려보내야 해서 동기 클라이언트, 삭제는 비동기 클라이언트 사용
     private S3Client s3Client;
+    private S3AsyncClient s3AsyncClient;
 
     @Value("${spring.cloud.aws.credentials.accessKey}")
     private String accessKey;
@@ -35,6 +55,26 @@ public class AwsS3Config {
     @Value("${spring.cloud.aws.region.static}")
     private String region;
 
+    // S3 호환 서버(로컬 테스트용 등)를 쓸 때만 지정, 비어있으면 AWS S3
+    @Value("${spring.cloud.aws.s3.endpoint:}")
+    private String endpoint;
+
+    // 이 크기를 넘는 파일은 여러 조각으로 나눠서 업로드 (multipart upload)
+    @Value("${spring.cloud.aws.s3.multipart-threshold:16MB}")
+    private DataSize multipartThreshold;
+
+    // multipart upload 조각 하나의 크기 (S3 최소값 5MB)
+    @Value("${spring.cloud.aws.s3.part-size:8MB}")
+    private DataSize partSize;
+
+    // 비동기 클라이언트(Netty)의 최대 동시 연결 수
+    @Value("${spring.cloud.aws.s3.async.max-concurrency:64}")
+    private int asyncMaxConcurrency;
+
+    // 연결 풀이 가득 찼을 때 빈 연결을 기다리는 최대 시간
+    @Value("${spring.cloud.aws.s3.async.acquisition-timeout:10s}")
+    private Duration asyncAcquisitionTimeout;
+
     // S3에 연결해서 인증을 처리하는 로직
     @PostConstruct // 클래스를 기반으로 객체가 생성될 때 1번만 자동으로 실행됨
     private void initializeAmazonS3Client() {
@@ -44,59 +84,240 @@ public class AwsS3Config {
                 = AwsBasicCredentials.create(accessKey, secretKey);
 
         // 지역 설정 및 인증 정보를 담은 S3Client 객체를 위의 변수에 세팅
-        this.s3Client = S3Client.builder()
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(credentials));
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .forcePathStyle(true);
+        }
+        this.s3Client = builder.build();
+
+        // 요청 스레드를 막지 않는 Netty 기반 비동기 클라이언트
+        S3AsyncClientBuilder asyncBuilder = S3AsyncClient.builder()
                 .region(Region.of(region))
                 .credentialsProvider(StaticCredentialsProvider.create(credentials))
-                .build();
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(asyncMaxConcurrency)
+                        .connectionAcquisitionTimeout(asyncAcquisitionTimeout)
+                        .connectionTimeout(Duration.ofSeconds(5))
+                        .readTimeout(Duration.ofSeconds(30)));
+        if (StringUtils.hasText(endpoint)) {
+            asyncBuilder.endpointOverride(URI.create(endpoint))
+                    .forcePathStyle(true);
+        }
+        this.s3AsyncClient = asyncBuilder.build();
+
+    }
 
+    @PreDestroy
+    private void closeAmazonS3Client() {
+        s3Client.close();
+        s3AsyncClient.close();
     }
 
     /**
      * 버킷에 파일을 업로드하고, 업로드한 버킷의 url 정보를 리턴
      *
-     * @param uploadFile - 업로드 할 파일의 실제 raw 데이터
-     * @param fileName   - 업로드 할 파일명
+     * @param uploadFile  - 업로드 할 파일의 실제 raw 데이터
+     * @param contentType - 파일 형식 (모르면 null)
+     * @param fileName    - 업로드 할 파일명
      * @return - 버킷에 업로드 된 버킷 경로(url)
      */
-    public String uploadToS3Bucket(byte[] uploadFile, String fileName) {
-        // 업로드할 파일을 S3 오브젝트로 생성
-        PutObjectRequest request = PutObjectRequest.builder()
+    public String uploadToS3Bucket(byte[] uploadFile, String contentType, String fileName) {
+        return uploadToS3Bucket(new ByteArrayInputStream(uploadFile), uploadFile.length, contentType, fileName);
+    }
+
+    /**
+     * 파일을 메모리에 모두 올리지 않고 스트림 그대로 버킷에 업로드
+     * multipart-threshold보다 크면 part-size 단위로 나눠서 업로드함.
+     *
+     * @param inputStream   - 업로드 할 파일의 스트림 (호출한 쪽에서 닫아야 함)
+     * @param contentLength - 파일 크기 (byte)
+     * @param contentType   - 파일 형식 (모르면 null)
+     * @param fileName      - 업로드 할 파일명
+     * @return - 버킷에 업로드 된 버킷 경로(url)
+     */
+    public String uploadToS3Bucket(InputStream inputStream, long contentLength,
+                                   String contentType, String fileName) {
+        if (contentLength > multipartThreshold.toBytes()) {
+            multipartUpload(inputStream, contentLength, contentType, fileName);
+        } else {
+            PutObjectRequest request = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileName)
+                    .contentType(contentType)
+                    .build();
+            s3Client.putObject(request, RequestBody.fromInputStream(inputStream, contentLength));
+        }
+
+        return urlFromKey(fileName);
+    }
+
+    // 키 -> 업로드 시 리턴하는 것과 같은 버킷 경로(url) (keyFromUrl의 반대)
+    public String urlFromKey(String key) {
+        return s3Client.utilities()
+                .getUrl(b->b.bucket(bucketName).key(key))
+                .toString();
+    }
+
+    // 큰 파일은 조각마다 따로 전송 -> 한 번에 메모리에 올라가는 양은 SDK의 전송 버퍼 정도
+    private void multipartUpload(InputStream inputStream, long contentLength,
+                                 String contentType, String fileName) {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
                 .bucket(bucketName)
                 .key(fileName)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            long remaining = contentLength;
+            int partNumber = 1;
+            while (remaining > 0) {
+                long length = Math.min(partSize.toBytes(), remaining);
+                UploadPartRequest request = UploadPartRequest.builder()
+                        .bucket(bucketName)
+                        .key(fileName)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength(length)
+                        .build();
+                String eTag = s3Client.uploadPart(request,
+                        RequestBody.fromInputStream(new PartInputStream(inputStream, length), length)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                remaining -= length;
+                partNumber++;
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileName)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (RuntimeException e) {
+            // 중단된 업로드의 조각들이 버킷에 남아 비용이 나가지 않도록 정리
+            log.error("multipart upload 실패, 업로드 취소: {}, 이유: {}", fileName, e.getMessage());
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(fileName)
+                        .uploadId(uploadId)
+                        .build());
+            } catch (RuntimeException abortError) {
+                log.warn("multipart upload 취소 실패: {}, 이유: {}", fileName, abortError.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    // 원본 스트림에서 조각 하나 크기만큼만 읽게 해주는 스트림 (SDK가 닫아도 원본은 닫히지 않음)
+    private static class PartInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        PartInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) return -1;
+            int b = in.read();
+            if (b >= 0) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) return -1;
+            int read = in.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) remaining -= read;
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * 버킷의 오브젝트를 스트림으로 읽음 (다 읽고 나면 호출한 쪽에서 닫아야 함)
+     *
+     * @param imageUrl - 업로드 시 리턴된 버킷 경로(url)
+     */
+    public InputStream downloadFromS3Bucket(String imageUrl) throws Exception {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(keyFromUrl(imageUrl))
                 .build();
+        return s3Client.getObject(request);
+    }
 
-        // 오브젝트를 버킷에 업로드
-        // (위에서 선언한 객체, 업로드하고자 하는 파일 (바이트 배열))
-        s3Client.putObject(request, RequestBody.fromBytes(uploadFile));
+    /**
+     * 여러 오브젝트를 DeleteObjects로 한 번에 삭제 (요청 하나에 최대 1000개, 비동기)
+     *
+     * @param keys - 삭제할 오브젝트 키 목록
+     * @return - 삭제에 실패한 키 목록 (모두 성공하면 빈 목록)
+     */
+    public CompletableFuture<List<String>> deleteFromS3BucketAsync(List<String> keys) {
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += MAX_DELETE_KEYS) {
+            List<String> batch = keys.subList(from, Math.min(from + MAX_DELETE_KEYS, keys.size()));
+            DeleteObjectsRequest request = DeleteObjectsRequest.builder()
+                    .bucket(bucketName)
+                    .delete(Delete.builder()
+                            .objects(batch.stream().map(key -> ObjectIdentifier.builder().key(key).build()).toList())
+                            .quiet(true) // 실패한 키만 응답으로 받음
+                            .build())
+                    .build();
 
-        // 업로드 되는 파일의 url을 리턴 -> DB에 저장
-        return s3Client.utilities()
-                .getUrl(b->b.bucket(bucketName).key(fileName))
-                .toString();
+            futures.add(s3AsyncClient.deleteObjects(request)
+                    .thenApply(response -> response.errors().stream().map(S3Error::key).toList())
+                    .exceptionally(e -> {
+                        log.warn("S3 일괄 삭제 요청 실패: {}건, 이유: {}", batch.size(), e.getMessage());
+                        return List.copyOf(batch);
+                    }));
+        }
 
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> futures.stream().flatMap(f -> f.join().stream()).toList());
     }
 
-    // 버킷에 업로드 된 이미지를 삭제하는 로직
     // 버킷에 오브젝트를 지우기 위해서는 키값을 줘야 하는데
     // 우리가 가지고 있는 건 키가 아니라 url입니다.
 
     // 우리가 가진 데이터: https://orderservice-prod-img8917.s3.ap-northeast-2.amazonaws.com/74b59c79-d5da-4d05-b99a-557f00b4da07_fileName.gif
     // 가공 결과: 74b59c79-d5da-4d05-b99a-557f00b4da07_fileName.gif
-    public void deleteFromS3Bucket(String imageUrl) throws Exception {
-
+    // (endpoint를 지정한 경우 path-style이므로 url 경로 맨 앞에 버킷 이름이 붙어 있음)
+    public String keyFromUrl(String imageUrl) throws Exception {
         URL url = new URL(imageUrl);
         // getPath()를 통해 key값 앞에 "/"까지 포함해서 제거!
         String decode = URLDecoder.decode(url.getPath(), "UTF-8");
         // "/" 제거하기
         String key = decode.substring(1);
-
-        DeleteObjectRequest request =
-                DeleteObjectRequest.builder()
-                        .bucket(bucketName)
-                        .key(key)
-                        .build();
-
-        s3Client.deleteObject(request);
-
+        if (StringUtils.hasText(endpoint) && key.startsWith(bucketName + "/")) {
+            key = key.substring(bucketName.length() + 1);
+        }
+        return key;
     }
 }
@@ -44,7 +44,10 @@ public class SecurityConfig {
             auth
 //                    .requestMatchers("/user/list").hasRole("ROLE_ADMIN")
                     .requestMatchers("/product/list",
+                            "/product/list/cursor",
                             "/product/updateQuantity",
+                            "/product/reserve",
+                            "/product/decreaseQuantity",
                             "/product/{prodId}",
                             "/product/products",
                             "/product/cancel",
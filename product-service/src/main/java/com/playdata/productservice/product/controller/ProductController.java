@@ -1,10 +1,14 @@
 package com.playdata.productservice.product.controller;
 
 import com.playdata.productservice.common.dto.CommonResDTO;
+import com.playdata.productservice.product.dto.ProductPageResDTO;
 import com.playdata.productservice.product.dto.ProductResDTO;
 import com.playdata.productservice.product.dto.ProductSaveReqDTO;
 import com.playdata.productservice.product.dto.ProductSearchDTO;
+import com.playdata.productservice.product.dto.ProductStockReqDTO;
 import com.playdata.productservice.product.entity.Product;
+import com.playdata.productservice.product.entity.StockMode;
+import com.playdata.productservice.product.service.ProductResponseCache;
 import com.playdata.productservice.product.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +29,7 @@ import java.util.Map;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductResponseCache productResponseCache;
 
     // 상품 등록 요청
     @PreAuthorize("hasRole('ADMIN')")
@@ -55,6 +60,7 @@ public class ProductController {
     // 요청방식: GET, 요청 URL: /product/list
     // 페이징이 필요합니다. 리턴은 ProductResDto 형태로 리턴됩니다.
     // -> 클라이언트 쪽에서 페이지 번호와 한 화면에 보여질 상품 개수, 정렬 방식이 넘어옴.
+    // 정렬은 항상 id 오름차순(오래된 상품부터)으로 고정 (최신 상품부터는 /list/cursor)
     // ProductResDto(id, name, category, price, stockQuantity, imagePath)
     @GetMapping("/list")
     public ResponseEntity<?> listProduct(ProductSearchDTO dto, Pageable pageable) {
@@ -62,15 +68,34 @@ public class ProductController {
         // 사용자가 선택할 페이지 번호 -1을 클라이언트 단에서 전달해야 함.
         log.info("pageable: {}", pageable);
         log.info("dto: {}", dto);
-        List<ProductResDTO> dtoList = productService.productList(dto ,pageable);
+        ProductResponseCache.Cached<List<ProductResDTO>> page
+                = productResponseCache.getList(dto, pageable, () -> productService.productList(dto, pageable));
 
         CommonResDTO resDto = new CommonResDTO(HttpStatus.OK,
-                "상품 조회 성공", dtoList);
+                "상품 조회 성공", page.body());
 
-        return ResponseEntity.ok().body(resDto);
+        // ETag가 요청의 If-None-Match와 같으면 스프링이 본문 없이 304로 응답함.
+        return ResponseEntity.ok().eTag(page.etag()).body(resDto);
 
     }
 
+    // 커서 기반 목록 조회 (최신 상품부터 size개씩)
+    // 다음 페이지는 응답의 nextCursor를 cursor로 넘겨서 요청, 검색 조건(category, searchName)은 /list와 같음
+    // 정렬이 /list와 반대임: /list는 id 오름차순(오래된 상품부터), /list/cursor는 id 내림차순(최신 상품부터)
+    // -> 두 API의 페이지를 섞어서 이어 붙이면 안 됨 (무한 스크롤은 /list/cursor만 사용)
+    @GetMapping("/list/cursor")
+    public ResponseEntity<?> listProductByCursor(ProductSearchDTO dto,
+                                                 @RequestParam(required = false) Long cursor,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        log.info("/product/list/cursor: GET, dto: {}, cursor: {}, size: {}", dto, cursor, size);
+        ProductPageResDTO page = productService.productListByCursor(dto, cursor, size);
+
+        CommonResDTO resDto = new CommonResDTO(HttpStatus.OK,
+                "상품 조회 성공", page);
+
+        return ResponseEntity.ok().body(resDto);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     // 삭제 요청
     @DeleteMapping("/delete")
@@ -85,16 +110,30 @@ public class ProductController {
 
     }
 
+    // 재고 관리 방식 전환 (핫딜 상품은 REDIS, 평소에는 DB)
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/stockMode")
+    public ResponseEntity<?> changeStockMode(@RequestParam("id") Long id,
+                                             @RequestParam("mode") StockMode mode) {
+        log.info("/product/stockMode: PATCH, id: {}, mode: {}", id, mode);
+        productService.changeStockMode(id, mode);
+
+        CommonResDTO resDTO = new CommonResDTO(HttpStatus.OK, "재고 모드 변경 완료", mode);
+
+        return ResponseEntity.ok().body(resDTO);
+    }
+
     // 단일 상품 조회
     @GetMapping("/{prodId}")
     public ResponseEntity<?> getProductById(@PathVariable Long prodId){
         log.info("prodId: {}", prodId);
-        ProductResDTO productResDTO = productService.getProductInfo(prodId);
+        ProductResponseCache.Cached<ProductResDTO> product
+                = productResponseCache.getDetail(prodId, () -> productService.getProductInfo(prodId));
 
         CommonResDTO resDTO = new CommonResDTO(HttpStatus.OK,
-                "제품 찾음!", productResDTO);
+                "제품 찾음!", product.body());
 
-        return ResponseEntity.ok().body(resDTO);
+        return ResponseEntity.ok().eTag(product.etag()).body(resDTO);
     }
 
     @PostMapping("/updateQuantity")
@@ -110,6 +149,28 @@ public class ProductController {
         return ResponseEntity.ok().body(resDto);
     }
 
+    // 재고를 주문 수량만큼 차감하고 남은 재고를 리턴 (조건부 UPDATE로 처리)
+    // updateQuantity는 계산된 재고를 덮어쓰기 때문에 동시 주문 시 갱신이 유실될 수 있음.
+    @PostMapping("/decreaseQuantity")
+    public ResponseEntity<?> decreaseStockQuantity(@RequestBody ProductStockReqDTO dto) {
+        log.info("/product/decreaseQuantity: POST, dto: {}", dto);
+        int remaining = productService.decreaseStock(dto.getProductId(), dto.getProductQuantity());
+        CommonResDTO resDto
+                = new CommonResDTO(HttpStatus.OK, "재고 차감 완료", remaining);
+        return ResponseEntity.ok().body(resDto);
+    }
+
+    // 주문 시 장바구니 전체의 재고 확인 + 차감을 한 번의 요청으로 처리
+    // (상품마다 조회, 차감 요청을 따로 보내던 것을 하나로 합침)
+    @PostMapping("/reserve")
+    public ResponseEntity<?> reserveProducts(@RequestBody List<ProductStockReqDTO> dtoList) {
+        log.info("/product/reserve: POST, dtoList: {}", dtoList);
+        List<ProductResDTO> reserved = productService.reserveProducts(dtoList);
+        CommonResDTO resDto
+                = new CommonResDTO(HttpStatus.OK, "재고 차감 완료", reserved);
+        return ResponseEntity.ok().body(resDto);
+    }
+
     // 한 사용자의 모든 주문 내역 안에 있는 상품 정보를 리턴하는 메소드
     @PostMapping("/products")
     public ResponseEntity<?>  getProducts(@RequestBody List<Long> productIds) {
@@ -0,0 +1,21 @@
+package com.playdata.productservice.product.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+// 상품 목록 한 페이지 (커서 기반)
+@Getter @Setter
+@ToString @NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductPageResDTO {
+
+    private List<ProductResDTO> products;
+
+    // 다음 페이지 요청 시 cursor로 넘길 값 (이번 페이지의 마지막 상품 번호, 마지막 페이지면 null)
+    private Long nextCursor;
+
+    private boolean hasNext;
+
+}
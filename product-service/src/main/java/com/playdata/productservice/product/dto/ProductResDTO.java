@@ -20,4 +20,9 @@ public class ProductResDTO {
 
     private String imagePath;
 
+    // 화면 크기에 맞는 이미지 (아직 생성되지 않았으면 null -> imagePath 사용)
+    private String thumbnailPath;
+
+    private String mediumImagePath;
+
 }
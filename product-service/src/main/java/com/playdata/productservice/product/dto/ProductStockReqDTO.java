@@ -0,0 +1,16 @@
+package com.playdata.productservice.product.dto;
+
+import lombok.*;
+
+// ordering-service가 주문 시 넘겨주는 상품별 주문 수량
+// (ordering-service의 OrderingSaveReqDTO와 필드명을 맞춰서 그대로 받을 수 있게 함.)
+@Getter @Setter
+@ToString @NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductStockReqDTO {
+
+    private Long productId;
+    private int productQuantity;
+
+}
@@ -30,6 +30,17 @@ public class Product extends BaseTimeEntity {
     @Setter // 해당 필드에만 setter가 적용됨.
     private String imagePath;
 
+    // 목록용 썸네일, 상세용 축소본 (등록 후 비동기로 생성되므로 생성 전에는 null)
+    private String thumbnailPath;
+
+    private String mediumImagePath;
+
+    // 재고 관리 방식 (핫딜 상품은 REDIS로 전환)
+    @Setter
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private StockMode stockMode = StockMode.DB;
+
 
     public ProductResDTO fromEntity() {
 
@@ -41,6 +52,8 @@ public class Product extends BaseTimeEntity {
                 .price(this.price)
                 .stockQuantity(this.stockQuantity)
                 .imagePath(this.imagePath)
+                .thumbnailPath(this.thumbnailPath)
+                .mediumImagePath(this.mediumImagePath)
                 .build();
     }
 
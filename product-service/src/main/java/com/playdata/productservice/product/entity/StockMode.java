@@ -0,0 +1,8 @@
+package com.playdata.productservice.product.entity;
+
+// 재고 관리 방식
+// DB: tbl_product의 stockQuantity를 직접 차감 (기본값)
+// REDIS: 주문이 몰리는 상품의 재고를 Redis 카운터로 차감하고, DB에는 주기적으로 반영
+public enum StockMode {
+    DB, REDIS
+}
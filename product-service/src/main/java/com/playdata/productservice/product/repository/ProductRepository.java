@@ -1,13 +1,20 @@
 package com.playdata.productservice.product.repository;
 
 import com.playdata.productservice.product.entity.Product;
+import com.playdata.productservice.product.entity.StockMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -23,4 +30,34 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                                       Pageable pageable);
     // 쿼리 메소드임.
     List<Product> findByIdIn (List<Long> ids);
+
+    // 주문 일괄 처리용: 주문에 포함된 상품들을 한 번에 조회하면서 행 잠금(SELECT ... FOR UPDATE)
+    // 항상 id 순서로 잠가야 동시에 들어온 주문끼리 데드락이 생기지 않음.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // 조건부 재고 차감: 재고가 충분할 때만 UPDATE 한 번으로 차감
+    // 조회 -> 계산 -> 덮어쓰기 사이에 다른 주문이 끼어들 틈이 없어서 동시 주문에도 갱신이 유실되지 않음.
+    // 리턴값: 변경된 행 수 (0이면 재고 부족 혹은 상품 없음)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity " +
+            "WHERE p.id = :id AND p.stockQuantity >= :quantity")
+    int decreaseStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Query("SELECT p.stockQuantity FROM Product p WHERE p.id = :id")
+    Optional<Integer> findStockQuantityById(@Param("id") Long id);
+
+    // 비동기로 만든 썸네일/축소본 경로 기록 (리턴값이 0이면 그 사이 삭제된 상품)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product p SET p.thumbnailPath = :thumbnailPath, p.mediumImagePath = :mediumImagePath " +
+            "WHERE p.id = :id")
+    int updateImageVariants(@Param("id") Long id,
+                            @Param("thumbnailPath") String thumbnailPath,
+                            @Param("mediumImagePath") String mediumImagePath);
+
+    // 재고 관리 방식별 상품 id 조회 (Redis 재고 복구용, 이후 행 잠금으로 다시 확인)
+    @Query("SELECT p.id FROM Product p WHERE p.stockMode = :stockMode")
+    List<Long> findIdsByStockMode(@Param("stockMode") StockMode stockMode);
 }
@@ -0,0 +1,46 @@
+package com.playdata.productservice.product.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 여러 상품의 재고를 JDBC batch로 한 번에 변경
+@Repository
+@RequiredArgsConstructor
+public class ProductStockBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 상품별 재고를 수량만큼 증가 (주문 취소)
+     * 읽고 -> 더해서 -> 덮어쓰지 않고 DB에서 바로 더하기 때문에 동시에 들어온 주문의 차감이 유실되지 않음.
+     * 데드락 방지를 위해 항상 id 순서로 갱신.
+     *
+     * @return - 재고가 증가하지 않은 (존재하지 않는) 상품 id 목록
+     */
+    public List<Long> increaseStocks(Map<Long, Integer> quantityMap) {
+        List<Object[]> batchArgs = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        new TreeMap<>(quantityMap).forEach((id, quantity) -> {
+            batchArgs.add(new Object[]{quantity, id});
+            ids.add(id);
+        });
+        if (batchArgs.isEmpty()) return List.of();
+
+        int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE tbl_product SET stock_quantity = stock_quantity + ? WHERE id = ?",
+                batchArgs);
+
+        // 드라이버가 건수를 알려주지 않는 경우(SUCCESS_NO_INFO, -2)는 성공으로 봄
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) missing.add(ids.get(i));
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,352 @@
+package com.playdata.productservice.product.service;
+
+import com.playdata.productservice.product.entity.Product;
+import com.playdata.productservice.product.entity.StockMode;
+import com.playdata.productservice.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    핫딜 상품 재고 관리 (Redis 카운터)
+
+    [주문] -> Lua 스크립트로 Redis 재고 차감 (행 잠금 없음) -> 변경된 상품 id를 dirty set에 기록
+    [flusher] -> dirty set에 있는 상품들의 Redis 재고를 모아서 tbl_product에 JDBC batch로 반영
+    [reconcile] -> 서버/Redis 장애 이후 어긋난 값을 맞춰줌
+
+    REDIS 모드 상품의 DB 재고는 Redis 값을 조금 늦게 따라가는 사본임.
+    그래서 flusher는 차감량이 아니라 Redis의 현재 값을 그대로 덮어씀 -> 같은 값을 여러 번 써도 결과가 같음.
+    (반영 도중 서버가 죽어도 다음 reconcile에서 다시 쓰면 끝)
+
+    [모드 전환] 어느 경로로 처리할지는 Redis 키가 아니라 행 잠금을 잡고 읽은 stock_mode로 최종 결정함.
+    - 주문이 키를 확인(없음)한 뒤 행 잠금을 기다리는 사이 REDIS 모드로 전환될 수 있음
+      -> DB 경로는 행을 잠근 뒤 stock_mode를 다시 보고 REDIS면 Redis에서 처리 (isHot, decreaseHot)
+    - REDIS 전환이 롤백되면 만들었던 키를 지우고, 그 사이 Redis에서 처리된 수량은 DB 재고에 반영
+    - reconcile도 행을 잠그고 REDIS 모드인 상품에만 키를 다시 만듦 (DB로 되돌아간 상품에 키가 생기지 않도록)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotStockService {
+
+    private static final String STOCK_KEY = "product:stock:";
+    private static final String DIRTY_KEY = "product:stock:dirty";
+
+    // 재고 키가 없으면 -2 (핫딜 상품 아님), 재고가 부족하면 -1, 성공하면 남은 재고
+    private static final RedisScript<Long> DECREASE_SCRIPT = new DefaultRedisScript<>("""
+            local stock = redis.call('GET', KEYS[1])
+            if not stock then return -2 end
+            local quantity = tonumber(ARGV[1])
+            if tonumber(stock) < quantity then return -1 end
+            local remaining = redis.call('DECRBY', KEYS[1], quantity)
+            redis.call('SADD', KEYS[2], ARGV[2])
+            return remaining
+            """, Long.class);
+
+    // 재고 키가 없으면 -2, 성공하면 증가 후 재고
+    private static final RedisScript<Long> INCREASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return -2 end
+            local stock = redis.call('INCRBY', KEYS[1], tonumber(ARGV[1]))
+            redis.call('SADD', KEYS[2], ARGV[2])
+            return stock
+            """, Long.class);
+
+    // 재고 키가 없으면 -2, 있으면 값을 덮어씀
+    private static final RedisScript<Long> SET_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return -2 end
+            redis.call('SET', KEYS[1], ARGV[1])
+            redis.call('SADD', KEYS[2], ARGV[2])
+            return tonumber(ARGV[1])
+            """, Long.class);
+
+    // 재고 값을 읽으면서 키를 삭제 (DB 모드로 전환), 키가 없으면 nil
+    // 읽기와 삭제를 한 스크립트로 묶어야 그 사이에 실행된 차감이 DB에 옮겨지지 않고 사라지는 일이 없음
+    private static final RedisScript<String> TAKE_SCRIPT = new DefaultRedisScript<>("""
+            local stock = redis.call('GET', KEYS[1])
+            redis.call('DEL', KEYS[1])
+            redis.call('SREM', KEYS[2], ARGV[1])
+            return stock
+            """, String.class);
+
+    private static final long NOT_HOT = -2L;
+    private static final long SOLD_OUT = -1L;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // false면 모든 상품이 기존처럼 DB로만 처리됨 (Redis 호출 없음)
+    @Value("${product.stock.redis.enabled:false}")
+    private boolean enabled;
+
+    // flusher가 한 번에 DB에 반영할 최대 상품 수
+    @Value("${product.stock.redis.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    /**
+     * 핫딜 상품이면 Redis에서 재고를 차감
+     * 호출한 트랜잭션이 롤백되면 차감했던 수량을 자동으로 되돌림.
+     *
+     * @return - 남은 재고, 핫딜 상품이 아니면 null (DB 경로로 처리해야 함)
+     */
+    public Long tryDecrease(Long prodId, int quantity) {
+        if (!enabled) return null;
+
+        Long result = redisTemplate.execute(DECREASE_SCRIPT,
+                List.of(STOCK_KEY + prodId, DIRTY_KEY),
+                String.valueOf(quantity), String.valueOf(prodId));
+
+        if (result == null || result == NOT_HOT) return null;
+        if (result == SOLD_OUT) {
+            throw new IllegalArgumentException("재고 부족! 상품 ID: " + prodId);
+        }
+
+        compensateOnRollback(prodId, quantity);
+        return result;
+    }
+
+    /**
+     * 핫딜 상품이면 Redis 재고를 증가 (주문 취소)
+     *
+     * @return - 증가 후 재고, 핫딜 상품이 아니면 null
+     */
+    public Long tryIncrease(Long prodId, int quantity) {
+        if (!enabled) return null;
+
+        Long result = redisTemplate.execute(INCREASE_SCRIPT,
+                List.of(STOCK_KEY + prodId, DIRTY_KEY),
+                String.valueOf(quantity), String.valueOf(prodId));
+        return (result == null || result == NOT_HOT) ? null : result;
+    }
+
+    /**
+     * 핫딜 상품이면 Redis 재고를 지정한 값으로 덮어씀 (관리자 재고 수정)
+     *
+     * @return - 덮어쓴 경우 true
+     */
+    public boolean trySet(Long prodId, int stockQuantity) {
+        if (!enabled) return false;
+
+        Long result = redisTemplate.execute(SET_SCRIPT,
+                List.of(STOCK_KEY + prodId, DIRTY_KEY),
+                String.valueOf(stockQuantity), String.valueOf(prodId));
+        return result != null && result != NOT_HOT;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 행 잠금을 잡고 읽은 상품이 Redis로 재고를 관리해야 하는지 (Redis 재고가 꺼져 있으면 모두 DB)
+    public boolean isHot(Product product) {
+        return enabled && product.getStockMode() == StockMode.REDIS;
+    }
+
+    /**
+     * isHot으로 확인한 상품의 재고를 Redis에서 차감
+     * (처음 tryDecrease 때는 키가 없어서 DB 경로로 왔지만, 행 잠금을 기다리는 사이 REDIS 모드로 전환된 경우)
+     *
+     * @return - 남은 재고
+     */
+    public long decreaseHot(Long prodId, int quantity) {
+        Long remaining = tryDecrease(prodId, quantity);
+        if (remaining == null) {
+            // REDIS 모드인데 키가 없음 = Redis 데이터 유실 -> reconcile이 복구할 때까지 DB로 처리하지 않음
+            throw new IllegalStateException("핫딜 재고를 확인할 수 없습니다. 잠시 후 다시 시도해 주세요. 상품 ID: " + prodId);
+        }
+        return remaining;
+    }
+
+    // isHot으로 확인한 상품의 재고를 Redis에서 증가 (decreaseHot과 같은 경우의 주문 취소)
+    public long increaseHot(Long prodId, int quantity) {
+        Long stock = tryIncrease(prodId, quantity);
+        if (stock == null) {
+            throw new IllegalStateException("핫딜 재고를 확인할 수 없습니다. 잠시 후 다시 시도해 주세요. 상품 ID: " + prodId);
+        }
+        return stock;
+    }
+
+    // isHot으로 확인한 상품의 재고를 Redis에서 덮어씀 (관리자 재고 수정)
+    public void setHot(Long prodId, int stockQuantity) {
+        if (!trySet(prodId, stockQuantity)) {
+            throw new IllegalStateException("핫딜 재고를 확인할 수 없습니다. 잠시 후 다시 시도해 주세요. 상품 ID: " + prodId);
+        }
+    }
+
+    // 핫딜 상품의 현재 재고 (핫딜 상품이 아니면 null)
+    public Integer currentStock(Long prodId) {
+        if (!enabled) return null;
+
+        String value = redisTemplate.opsForValue().get(STOCK_KEY + prodId);
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    // 상품의 재고 관리 방식을 전환 (호출하는 쪽의 트랜잭션 안에서, 상품 행을 잠근 상태로 실행)
+    public void changeMode(Product product, StockMode mode) {
+        if (mode == StockMode.REDIS && !enabled) {
+            throw new IllegalArgumentException("Redis 재고 모드가 비활성화 되어 있습니다.");
+        }
+
+        String key = STOCK_KEY + product.getId();
+        if (mode == StockMode.REDIS) {
+            // 이미 REDIS 모드면 Redis 값이 최신이므로 그대로 둠
+            if (product.getStockMode() != StockMode.REDIS) {
+                // DB 모드인 동안은 (행 잠금 중이라) DB 재고가 최신값 -> 그대로 Redis로 옮김
+                int stock = product.getStockQuantity();
+                redisTemplate.opsForValue().set(key, String.valueOf(stock));
+                removeOnRollback(product.getId(), key, stock);
+            }
+        } else {
+            // Redis 재고를 DB로 되돌리고 키 삭제 (키가 사라진 뒤의 주문은 DB 경로 -> 이 트랜잭션의 행 잠금을 기다림)
+            String value = redisTemplate.execute(TAKE_SCRIPT,
+                    List.of(key, DIRTY_KEY), String.valueOf(product.getId()));
+            if (value != null) {
+                product.setStockQuantity(Integer.parseInt(value));
+                restoreOnRollback(key, value);
+            }
+        }
+        product.setStockMode(mode);
+        log.info("재고 모드 전환: 상품 ID: {}, mode: {}", product.getId(), mode);
+    }
+
+    // 변경된 핫딜 상품들의 재고를 모아서 DB에 반영
+    @Scheduled(fixedDelayString = "${product.stock.redis.flush-interval:1000}")
+    public void flush() {
+        if (!enabled) return;
+
+        List<String> ids = redisTemplate.opsForSet().pop(DIRTY_KEY, flushBatchSize);
+        if (ids == null || ids.isEmpty()) return;
+
+        try {
+            writeToDb(ids);
+        } catch (Exception e) {
+            // 다음 주기에 다시 반영하도록 dirty set에 되돌려 놓음
+            log.error("핫딜 재고 DB 반영 실패, 다음 주기에 재시도: {}", e.getMessage());
+            redisTemplate.opsForSet().add(DIRTY_KEY, ids.toArray(new String[0]));
+        }
+    }
+
+    // 서버가 flush 도중 죽었거나 Redis 데이터가 유실된 경우를 복구
+    // - Redis 키가 없는 REDIS 모드 상품 -> DB 재고로 다시 채움
+    // - Redis 키가 있는 상품 -> 현재 값을 DB에 다시 씀 (pop만 되고 반영되지 못한 값 복구)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${product.stock.redis.reconcile-interval:60000}")
+    public void reconcile() {
+        if (!enabled) return;
+
+        try {
+            List<Long> hotIds = productRepository.findIdsByStockMode(StockMode.REDIS);
+            if (hotIds.isEmpty()) return;
+
+            // 목록을 읽은 뒤 DB 모드로 되돌아간 상품에 키를 다시 만들지 않도록, 행을 잠그고 stock_mode를 다시 확인
+            // (DB 모드로 전환하는 쪽도 같은 행 잠금을 잡으므로 키 복구와 전환이 엇갈리지 않음)
+            List<String> existing = new ArrayList<>();
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Product hot : productRepository.findAllByIdForUpdate(hotIds)) {
+                    if (hot.getStockMode() != StockMode.REDIS) continue;
+
+                    Boolean restored = redisTemplate.opsForValue().setIfAbsent(
+                            STOCK_KEY + hot.getId(), String.valueOf(hot.getStockQuantity()));
+                    if (Boolean.TRUE.equals(restored)) {
+                        log.warn("Redis 재고 유실 -> DB 값으로 복구: 상품 ID: {}, 재고: {}",
+                                hot.getId(), hot.getStockQuantity());
+                    } else {
+                        existing.add(String.valueOf(hot.getId()));
+                    }
+                }
+            });
+            if (!existing.isEmpty()) {
+                writeToDb(existing);
+            }
+        } catch (Exception e) {
+            // 기동 시점에 Redis가 죽어있어도 서버는 떠야 함 -> 다음 주기에 다시 시도
+            log.error("핫딜 재고 동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    private void writeToDb(List<String> ids) {
+        List<String> values = redisTemplate.opsForValue()
+                .multiGet(ids.stream().map(id -> STOCK_KEY + id).toList());
+
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String value = values == null ? null : values.get(i);
+            if (value == null) continue; // 그 사이 DB 모드로 전환된 상품
+            batchArgs.add(new Object[]{Integer.parseInt(value), Long.parseLong(ids.get(i))});
+        }
+        if (batchArgs.isEmpty()) return;
+
+        // REDIS 모드인 상품에만 반영 (DB 모드로 돌아간 상품의 재고를 덮어쓰지 않도록)
+        jdbcTemplate.batchUpdate(
+                "UPDATE tbl_product SET stock_quantity = ? WHERE id = ? AND stock_mode = 'REDIS'",
+                batchArgs);
+        log.debug("핫딜 재고 DB 반영: {}건", batchArgs.size());
+    }
+
+    // 모드 전환 트랜잭션이 롤백되면 (상품은 그대로 REDIS 모드) 삭제했던 재고 키를 되살림
+    private void restoreOnRollback(String key, String value) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    log.info("모드 전환 롤백 -> Redis 재고 복구: {}, 재고: {}", key, value);
+                    redisTemplate.opsForValue().setIfAbsent(key, value);
+                }
+            }
+        });
+    }
+
+    // REDIS 모드 전환 트랜잭션이 롤백되면 (상품은 DB 모드 그대로) 만들었던 재고 키를 삭제
+    // 키가 있던 동안 Redis에서 처리된 주문/취소 수량(= 현재 값 - 넣은 값)은 DB 재고에 상대값으로 더함
+    // (롤백 후 바로 들어온 DB 경로 주문의 차감을 덮어쓰지 않도록 절대값으로 쓰지 않음)
+    private void removeOnRollback(Long prodId, String key, int seeded) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) return;
+
+                String value = redisTemplate.execute(TAKE_SCRIPT, List.of(key, DIRTY_KEY), String.valueOf(prodId));
+                int delta = value == null ? 0 : Integer.parseInt(value) - seeded;
+                log.info("REDIS 모드 전환 롤백 -> 재고 키 삭제: {}, DB 반영 수량: {}", key, delta);
+                if (delta != 0) {
+                    jdbcTemplate.update("UPDATE tbl_product SET stock_quantity = stock_quantity + ? WHERE id = ?",
+                            delta, prodId);
+                }
+            }
+        });
+    }
+
+    // DB 트랜잭션이 롤백되면 Redis에서 차감한 수량을 되돌림
+    private void compensateOnRollback(Long prodId, int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    log.info("트랜잭션 롤백 -> Redis 재고 복구: 상품 ID: {}, 수량: {}", prodId, quantity);
+                    tryIncrease(prodId, quantity);
+                }
+            }
+        });
+    }
+}
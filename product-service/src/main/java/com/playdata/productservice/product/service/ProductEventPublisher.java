@@ -0,0 +1,57 @@
+package com.playdata.productservice.product.service;
+
+import com.playdata.productservice.common.event.ProductChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 상품 등록/삭제를 다른 서비스에 알림 (spring-cloud-bus)
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductEventPublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final BusProperties busProperties;
+
+    // 모든 서비스에게 전파
+    private final PathDestinationFactory destinationFactory = new PathDestinationFactory();
+
+    public void productCreated(Long productId) {
+        publishAfterCommit(productId, "CREATED");
+    }
+
+    public void productDeleted(Long productId) {
+        publishAfterCommit(productId, "DELETED");
+    }
+
+    // 트랜잭션이 커밋된 뒤에 발행 -> 다른 서비스가 캐시를 비운 직후 롤백 전 값을 다시 읽어가는 일이 없도록
+    private void publishAfterCommit(Long productId, String changeType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(productId, changeType);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(productId, changeType);
+            }
+        });
+    }
+
+    private void publish(Long productId, String changeType) {
+        try {
+            eventPublisher.publishEvent(new ProductChangedEvent(this, busProperties.getId(),
+                    destinationFactory.getDestination(null), productId, changeType));
+        } catch (Exception e) {
+            // 알림 실패로 상품 등록/삭제가 실패하면 안 됨 (받는 쪽 캐시는 TTL로 결국 갱신됨)
+            log.warn("상품 변경 이벤트 발행 실패: 상품 ID: {}, type: {}, 이유: {}",
+                    productId, changeType, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.playdata.productservice.product.service;
+
+import com.playdata.productservice.common.configs.AwsS3Config;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+    S3 이미지 삭제 (백그라운드, 재시도)
+
+    [productDelete 커밋] -> 삭제할 키를 대기열에 넣고 끝 (요청 스레드는 S3를 기다리지 않음)
+    [flush] -> 대기열의 키를 모아서 DeleteObjects(1000개 단위)로 비동기 삭제
+            -> 실패한 키는 점점 간격을 늘려가며 max-attempts까지 다시 시도
+
+    대기열은 메모리에만 있으므로 서버가 재시작되면 남아있던 삭제 작업은 사라짐. (버킷에 파일이 남을 뿐 상품 조회에는 영향 없음)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImageCleaner {
+
+    private final AwsS3Config s3Config;
+
+    private final Queue<PendingDelete> pending = new ConcurrentLinkedQueue<>();
+    // 이전 flush의 비동기 삭제가 끝나기 전에는 다음 flush를 시작하지 않음
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    @Value("${product.image.delete.max-attempts:5}")
+    private int maxAttempts;
+
+    // 재시도 간격의 기준값 (재시도할 때마다 2배씩 늘어남)
+    @Value("${product.image.delete.retry-backoff:2000}")
+    private long retryBackoffMillis;
+
+    // 트랜잭션이 커밋된 뒤에 삭제 예약 (롤백되면 이미지는 그대로 두어야 함)
+    public void deleteAfterCommit(List<String> imageUrls) {
+        List<String> urls = imageUrls.stream().filter(Objects::nonNull).toList();
+        if (urls.isEmpty()) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(urls);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(urls);
+            }
+        });
+    }
+
+    private void enqueue(List<String> imageUrls) {
+        for (String url : imageUrls) {
+            try {
+                pending.add(new PendingDelete(s3Config.keyFromUrl(url), 0, 0));
+            } catch (Exception e) {
+                log.warn("삭제할 이미지 경로가 올바르지 않음: {}, 이유: {}", url, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.image.delete.flush-interval:1000}")
+    public void flush() {
+        if (pending.isEmpty() || !flushing.compareAndSet(false, true)) return;
+
+        long now = System.currentTimeMillis();
+        List<PendingDelete> ready = new ArrayList<>();
+        List<PendingDelete> waiting = new ArrayList<>();
+        PendingDelete next;
+        while ((next = pending.poll()) != null) {
+            (next.retryAt() <= now ? ready : waiting).add(next);
+        }
+        pending.addAll(waiting);
+        if (ready.isEmpty()) {
+            flushing.set(false);
+            return;
+        }
+
+        // 같은 키가 여러 번 들어왔으면 한 번만 삭제
+        Map<String, PendingDelete> byKey = ready.stream()
+                .collect(Collectors.toMap(PendingDelete::key, Function.identity(), (a, b) -> a));
+        s3Config.deleteFromS3BucketAsync(new ArrayList<>(byKey.keySet()))
+                .whenComplete((failedKeys, e) -> {
+                    try {
+                        List<String> failed = e != null ? new ArrayList<>(byKey.keySet()) : failedKeys;
+                        failed.forEach(key -> retry(byKey.get(key)));
+                        log.debug("S3 이미지 삭제: 요청 {}건, 실패 {}건", byKey.size(), failed.size());
+                    } finally {
+                        flushing.set(false);
+                    }
+                });
+    }
+
+    private void retry(PendingDelete failed) {
+        int attempts = failed.attempts() + 1;
+        if (attempts >= maxAttempts) {
+            log.error("S3 이미지 삭제 포기 ({}회 실패): {}", attempts, failed.key());
+            return;
+        }
+        long backoff = retryBackoffMillis << (attempts - 1);
+        pending.add(new PendingDelete(failed.key(), attempts, System.currentTimeMillis() + backoff));
+    }
+
+    // 종료 시 남아있는 삭제 작업을 최대한 처리
+    @PreDestroy
+    public void drain() throws Exception {
+        List<String> keys = pending.stream().map(PendingDelete::key).distinct().toList();
+        pending.clear();
+        if (keys.isEmpty()) return;
+        List<String> failed = s3Config.deleteFromS3BucketAsync(keys).get(10, TimeUnit.SECONDS);
+        if (!failed.isEmpty()) {
+            log.warn("종료 시 S3 이미지 삭제 실패: {}건", failed.size());
+        }
+    }
+
+    private record PendingDelete(String key, int attempts, long retryAt) {
+    }
+}
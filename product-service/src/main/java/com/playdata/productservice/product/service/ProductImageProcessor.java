@@ -0,0 +1,215 @@
+package com.playdata.productservice.product.service;
+
+import com.playdata.productservice.common.configs.AwsS3Config;
+import com.playdata.productservice.product.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+
+/*
+    상품 이미지 썸네일 / 축소본 생성 (비동기)
+
+    [productCreate 커밋] -> 작업 등록 (요청 스레드는 여기서 끝)
+    [imageProcessingExecutor] -> S3에서 원본을 읽어서 축소 -> JPEG로 압축 -> 원본 옆에 업로드
+                              -> tbl_product에 썸네일/축소본 경로 기록 -> 응답 캐시 삭제
+
+    - 썸네일(thumbnail-width)은 목록용, 축소본(medium-width)은 상세 화면용. 원본보다 크게 늘리지 않음.
+    - 대기열이 가득 찼거나 이미지가 아닌 파일이면 건너뜀 (상품은 원본 이미지로 그대로 조회됨)
+    - 디코딩 전에 헤더의 가로/세로만 읽어서 max-pixels를 넘으면 건너뜀 (작은 파일이 수 GB로 풀리는 이미지 방지)
+      큰 이미지는 축소본의 2배 정도 크기로 건너뛰며 읽음(subsampling) -> 원본 전체를 힙에 올리지 않음
+    - 썸네일/축소본 위치는 원본 경로로 정해짐 (imageUrls) -> 변환 중에 상품이 삭제되어도 지울 파일을 알 수 있음
+ */
+@Component
+@Slf4j
+public class ProductImageProcessor {
+
+    private static final String THUMBNAIL_SUFFIX = "_thumb.jpg";
+    private static final String MEDIUM_SUFFIX = "_medium.jpg";
+
+    private final AwsS3Config s3Config;
+    private final ProductRepository productRepository;
+    private final ProductResponseCache productResponseCache;
+    private final ProductImageCleaner productImageCleaner;
+    private final ThreadPoolTaskExecutor imageProcessingExecutor;
+
+    @Value("${product.image.thumbnail-width:200}")
+    private int thumbnailWidth;
+
+    @Value("${product.image.medium-width:600}")
+    private int mediumWidth;
+
+    // JPEG 압축 품질 (0.0 ~ 1.0)
+    @Value("${product.image.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    // 변환할 원본 이미지의 최대 픽셀 수 (가로 x 세로)
+    @Value("${product.image.max-pixels:40000000}")
+    private long maxPixels;
+
+    public ProductImageProcessor(AwsS3Config s3Config,
+                                 ProductRepository productRepository,
+                                 ProductResponseCache productResponseCache,
+                                 ProductImageCleaner productImageCleaner,
+                                 @Qualifier("imageProcessingExecutor") ThreadPoolTaskExecutor imageProcessingExecutor) {
+        this.s3Config = s3Config;
+        this.productRepository = productRepository;
+        this.productResponseCache = productResponseCache;
+        this.productImageCleaner = productImageCleaner;
+        this.imageProcessingExecutor = imageProcessingExecutor;
+    }
+
+    // 상품 등록 트랜잭션이 커밋된 뒤에 작업 등록 (롤백된 상품의 이미지를 처리하지 않도록)
+    public void processAfterCommit(Long prodId, String imageUrl) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(prodId, imageUrl);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(prodId, imageUrl);
+            }
+        });
+    }
+
+    /**
+     * 원본 + 썸네일 + 축소본 url (상품 삭제 시 지울 이미지)
+     * 변환이 아직 끝나지 않아 DB에 썸네일/축소본 경로가 없어도 만들어질 위치까지 포함됨
+     * (삭제 후에 변환이 끝나면 updateImageVariants가 0을 리턴 -> process에서 정리)
+     */
+    public List<String> imageUrls(String imageUrl) throws Exception {
+        if (imageUrl == null) return List.of();
+        String key = s3Config.keyFromUrl(imageUrl);
+        return List.of(imageUrl,
+                s3Config.urlFromKey(variantKey(key, THUMBNAIL_SUFFIX)),
+                s3Config.urlFromKey(variantKey(key, MEDIUM_SUFFIX)));
+    }
+
+    private void submit(Long prodId, String imageUrl) {
+        try {
+            imageProcessingExecutor.execute(() -> process(prodId, imageUrl));
+        } catch (TaskRejectedException e) {
+            log.warn("이미지 처리 대기열이 가득 참 -> 원본 이미지만 사용: 상품 ID: {}", prodId);
+        }
+    }
+
+    private void process(Long prodId, String imageUrl) {
+        try {
+            BufferedImage original;
+            try (InputStream in = s3Config.downloadFromS3Bucket(imageUrl)) {
+                original = read(in);
+            }
+            if (original == null) {
+                log.warn("이미지로 읽을 수 없는 파일 -> 변환 건너뜀: 상품 ID: {}", prodId);
+                return;
+            }
+
+            String key = s3Config.keyFromUrl(imageUrl);
+            String thumbnailUrl = upload(resize(original, thumbnailWidth), variantKey(key, THUMBNAIL_SUFFIX));
+            String mediumUrl = upload(resize(original, mediumWidth), variantKey(key, MEDIUM_SUFFIX));
+
+            if (productRepository.updateImageVariants(prodId, thumbnailUrl, mediumUrl) == 0) {
+                // 처리하는 사이에 삭제된 상품 -> 만든 파일도 정리
+                productImageCleaner.deleteAfterCommit(List.of(thumbnailUrl, mediumUrl));
+                return;
+            }
+            productResponseCache.evictProductsAfterCommit(List.of(prodId));
+            log.info("상품 이미지 변환 완료: 상품 ID: {}", prodId);
+        } catch (Exception e) {
+            log.error("상품 이미지 변환 실패: 상품 ID: {}, 이유: {}", prodId, e.getMessage());
+        }
+    }
+
+    // 이미지가 아니면 null, max-pixels를 넘으면 예외 (픽셀 데이터는 읽지 않음)
+    private BufferedImage read(InputStream in) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = iis == null ? null : ImageIO.getImageReaders(iis);
+            if (readers == null || !readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IllegalArgumentException("이미지가 너무 큼: " + width + "x" + height);
+                }
+
+                // 읽은 뒤에도 가로가 축소본(medium-width)의 2배 이상 남도록 건너뛸 간격을 정함
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, width / (mediumWidth * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 원본 키에서 확장자를 바꿔서 썸네일/축소본 키를 만듦
+    private static String variantKey(String key, String suffix) {
+        String baseName = key.contains(".") ? key.substring(0, key.lastIndexOf('.')) : key;
+        return baseName + suffix;
+    }
+
+    // 가로 길이를 width에 맞춰서 비율대로 축소 (투명 배경은 흰색으로 채움 -> JPEG는 투명도를 지원하지 않음)
+    private BufferedImage resize(BufferedImage original, int width) {
+        int targetWidth = Math.min(width, original.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round(
+                (double) original.getHeight() * targetWidth / original.getWidth()));
+
+        BufferedImage resized = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = resized.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, targetWidth, targetHeight);
+            g.drawImage(original, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return resized;
+    }
+
+    private String upload(BufferedImage image, String fileName) throws IOException {
+        return s3Config.uploadToS3Bucket(toJpeg(image), "image/jpeg", fileName);
+    }
+
+    private byte[] toJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
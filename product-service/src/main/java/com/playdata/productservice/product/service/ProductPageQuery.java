@@ -0,0 +1,58 @@
+package com.playdata.productservice.product.service;
+
+import com.playdata.productservice.product.dto.ProductPageResDTO;
+import com.playdata.productservice.product.dto.ProductResDTO;
+import com.playdata.productservice.product.dto.ProductSearchDTO;
+import com.playdata.productservice.product.entity.Product;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.playdata.productservice.product.entity.QProduct.product;
+
+// 상품 목록 페이지 조회 쿼리 (색인을 쓰지 않는 경우, 벤치마크도 같은 쿼리를 측정함)
+public final class ProductPageQuery {
+
+    private ProductPageQuery() {
+    }
+
+    // offset 페이징 (id 오름차순, /product/list) - 커서 페이징(before)과 정렬 방향이 반대임
+    public static List<Product> offset(JPAQueryFactory factory, ProductSearchDTO dto, long offset, int limit) {
+        return factory
+                .selectFrom(product)
+                .where(ProductSearchCondition.of(dto))
+                .orderBy(product.id.asc()) // 정렬 기준이 없으면 페이지 사이에 상품이 밀리거나 겹칠 수 있음
+                .offset(offset)
+                .limit(limit)
+                .fetch();
+    }
+
+    // 커서 페이징: before보다 작은 id (id 내림차순 = 최신 상품부터, 최대 limit개, /product/list/cursor)
+    public static List<Product> before(JPAQueryFactory factory, ProductSearchDTO dto, long before, int limit) {
+        return factory
+                .selectFrom(product)
+                .where(ProductSearchCondition.of(dto), product.id.lt(before))
+                .orderBy(product.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    /**
+     * 한 페이지 + 1개로 조회한 결과를 페이지 응답으로 만듦 (1개 더 있으면 다음 페이지가 있다는 뜻)
+     *
+     * @param products - 최대 pageSize + 1개
+     */
+    public static ProductPageResDTO toPage(List<Product> products, int pageSize) {
+        boolean hasNext = products.size() > pageSize;
+        if (hasNext) {
+            products = products.subList(0, pageSize);
+        }
+        Long nextCursor = hasNext ? products.get(products.size() - 1).getId() : null;
+
+        List<ProductResDTO> dtoList = products.stream()
+                .map(Product::fromEntity)
+                .collect(Collectors.toList());
+        return new ProductPageResDTO(dtoList, nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,384 @@
+package com.playdata.productservice.product.service;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.playdata.productservice.common.event.ProductChangedEvent;
+import com.playdata.productservice.product.dto.ProductResDTO;
+import com.playdata.productservice.product.dto.ProductSearchDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/*
+    비로그인 상품 조회(/product/list, /product/{id}) 응답 캐시
+
+    [로컬 캐시] → [Redis (선택)] → [DB]
+    - 로컬: 인스턴스마다 가지는 메모리 캐시 (짧은 만료 시간)
+    - Redis: 여러 인스턴스가 공유하는 캐시 (product.response-cache.redis-enabled: true일 때만 사용)
+    - 응답마다 ETag를 같이 저장 -> 클라이언트가 If-None-Match로 같은 값을 보내면 본문 없이 304
+
+    무효화 (트랜잭션 커밋 후)
+    - 재고 변경 (주문, 취소, 재고 수정 등) -> 그 상품의 단건 캐시 + 그 상품이 들어있는 목록 페이지만 삭제
+    - 상품 등록/삭제 -> 목록 캐시 전체 삭제 (페이지 구성이 바뀌므로)
+      다른 인스턴스의 로컬 캐시는 bus로 들어오는 ProductChangedEvent로 삭제
+
+    재고 변경은 bus로 전파하지 않음 (주문마다 broadcast가 생기므로)
+    -> 다른 인스턴스의 로컬 캐시는 최대 local-ttl 동안 이전 재고를 보여줄 수 있음.
+
+    커밋 전에 DB를 읽기 시작한 요청이 커밋 후 삭제보다 늦게 캐시에 저장하면 이전 값이 다시 캐시됨 (read-through 경합)
+    -> 삭제할 때마다 삭제 순번을 올리고 상품별로 마지막 삭제 순번을 기록 (로컬 + Redis)
+    -> 읽기 시작 시점의 순번을 기억해 두고, 그 뒤에 삭제된 상품이 들어있는 결과는 저장하지 않음
+       (Redis는 확인과 저장을 스크립트 하나로, 로컬은 저장 후 다시 확인해서 되돌림)
+ */
+@Component
+@Slf4j
+public class ProductResponseCache {
+
+    private static final String LIST_KEY = "product:cache:list:";
+    private static final String DETAIL_KEY = "product:cache:detail:";
+    // 상품 id -> 그 상품이 들어있는 목록 캐시 키들
+    private static final String LIST_BY_PRODUCT_KEY = "product:cache:list-by-product:";
+    // 모든 목록 캐시 키
+    private static final String ALL_LIST_KEY = "product:cache:list-keys";
+    // 삭제 순번 / 상품별(+ 목록 전체) 마지막 삭제 순번
+    private static final String EVICTION_SEQ_KEY = "product:cache:eviction-seq";
+    private static final String EVICTED_KEY = "product:cache:evicted:";
+    private static final String LISTS = "lists";
+    // 로컬에서 상품별 삭제 순번을 나눠 담는 칸 수 (같은 칸의 다른 상품이 삭제되면 저장을 한 번 건너뛸 뿐)
+    private static final int EVICTION_STRIPES = 1024;
+
+    // 삭제 순번을 올리고 KEYS[2..]에 기록, 올린 순번을 리턴
+    private static final RedisScript<Long> MARK_EVICTED_SCRIPT = new DefaultRedisScript<>("""
+            local seq = redis.call('INCR', KEYS[1])
+            for i = 2, #KEYS do
+                redis.call('SET', KEYS[i], seq, 'PX', ARGV[1])
+            end
+            return seq
+            """, Long.class);
+
+    // KEYS[1]: 캐시 키, KEYS[2..ARGV[4]+1]: 확인할 삭제 순번, 나머지: 캐시 키를 추가할 목록 색인
+    // 읽기 시작(ARGV[3]) 후에 삭제된 상품이 있으면 저장하지 않고 0
+    private static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>("""
+            local start = tonumber(ARGV[3])
+            local markers = tonumber(ARGV[4])
+            for i = 2, markers + 1 do
+                local evicted = redis.call('GET', KEYS[i])
+                if evicted and tonumber(evicted) > start then return 0 end
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            for i = markers + 2, #KEYS do
+                redis.call('SADD', KEYS[i], KEYS[1])
+                redis.call('PEXPIRE', KEYS[i], ARGV[2])
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Cached<List<ProductResDTO>>> listCache;
+    private final Cache<Long, Cached<ProductResDTO>> detailCache;
+    private final JavaType listType;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+
+    private final AtomicLong evictionSeq = new AtomicLong();
+    private final AtomicLongArray productEvictedAt = new AtomicLongArray(EVICTION_STRIPES);
+    private final AtomicLong listsEvictedAt = new AtomicLong();
+
+    public ProductResponseCache(StringRedisTemplate redisTemplate,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${product.response-cache.enabled:true}") boolean enabled,
+                                @Value("${product.response-cache.max-size:1000}") long maxSize,
+                                @Value("${product.response-cache.local-ttl:5s}") Duration localTtl,
+                                @Value("${product.response-cache.redis-enabled:false}") boolean redisEnabled,
+                                @Value("${product.response-cache.redis-ttl:60s}") Duration redisTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = redisTtl;
+        this.listType = objectMapper.getTypeFactory().constructCollectionType(List.class, ProductResDTO.class);
+        this.listCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        this.detailCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, listCache, "productList");
+        CaffeineCacheMetrics.monitor(meterRegistry, detailCache, "productDetail");
+    }
+
+    // 캐시된 응답 본문과 ETag
+    public record Cached<T>(T body, String etag) {
+    }
+
+    // Redis에서 읽은 값 + 그때의 삭제 순번 (Redis를 쓰지 않거나 장애면 seq = -1 -> Redis에 저장하지 않음)
+    private record RedisRead(String json, long seq) {
+    }
+
+    /**
+     * 목록 조회 캐시 (category, searchName, page, size, sort 조합별)
+     */
+    public Cached<List<ProductResDTO>> getList(ProductSearchDTO dto, Pageable pageable,
+                                               Supplier<List<ProductResDTO>> loader) {
+        String key = LIST_KEY + dto.getCategory() + ":" + dto.getSearchName() + ":"
+                + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+        if (!enabled) return toCached(loader.get());
+
+        Cached<List<ProductResDTO>> cached = listCache.getIfPresent(key);
+        if (cached != null) return cached;
+
+        long start = evictionSeq.get();
+        RedisRead redis = getFromRedis(key);
+        List<ProductResDTO> stored = readValue(redis.json(), listType);
+        if (stored != null) {
+            cached = new Cached<>(stored, etag(redis.json()));
+        } else {
+            cached = toCached(loader.get());
+            putListToRedis(key, cached, redis.seq());
+        }
+        putLocal(listCache, key, cached, start, productIds(cached.body()), true);
+        return cached;
+    }
+
+    /**
+     * 단건 조회 캐시 (상품이 없으면 loader의 예외가 그대로 전달되고 캐시하지 않음)
+     */
+    public Cached<ProductResDTO> getDetail(Long prodId, Supplier<ProductResDTO> loader) {
+        if (!enabled) return toCached(loader.get());
+
+        Cached<ProductResDTO> cached = detailCache.getIfPresent(prodId);
+        if (cached != null) return cached;
+
+        long start = evictionSeq.get();
+        RedisRead redis = getFromRedis(DETAIL_KEY + prodId);
+        ProductResDTO stored = readValue(redis.json(), objectMapper.constructType(ProductResDTO.class));
+        if (stored != null) {
+            cached = new Cached<>(stored, etag(redis.json()));
+        } else {
+            cached = toCached(loader.get());
+            putToRedis(prodId, cached, redis.seq());
+        }
+        putLocal(detailCache, prodId, cached, start, List.of(prodId), false);
+        return cached;
+    }
+
+    // 상품 정보(재고 등)가 바뀜 -> 단건 캐시 + 그 상품이 들어있는 목록만 삭제
+    public void evictProductsAfterCommit(Collection<Long> prodIds) {
+        if (!enabled || prodIds.isEmpty()) return;
+        List<Long> ids = new ArrayList<>(prodIds);
+        afterCommit(() -> ids.forEach(this::evictProduct));
+    }
+
+    // 상품 등록/삭제 -> 목록 캐시 전체 삭제
+    public void evictListsAfterCommit() {
+        if (!enabled) return;
+        afterCommit(this::evictLists);
+    }
+
+    // 다른 인스턴스에서 등록/삭제된 경우 (자기 자신이 발행한 이벤트도 여기로 들어옴)
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        markLocalEvicted(event.getProductId(), true);
+        listCache.invalidateAll();
+        if (event.getProductId() != null) {
+            detailCache.invalidate(event.getProductId());
+        }
+    }
+
+    // 삭제 순번 기록은 항상 캐시를 지우기 전에 (기록 전에 저장된 값은 이어지는 삭제로 지워짐)
+    private void evictProduct(Long prodId) {
+        markLocalEvicted(prodId, false);
+        detailCache.invalidate(prodId);
+        listCache.asMap().values().removeIf(page -> page.body().stream()
+                .anyMatch(product -> prodId.equals(product.getId())));
+        if (!redisEnabled) return;
+        try {
+            markRedisEvicted(EVICTED_KEY + prodId);
+            String reverseKey = LIST_BY_PRODUCT_KEY + prodId;
+            Set<String> listKeys = redisTemplate.opsForSet().members(reverseKey);
+            List<String> keys = new ArrayList<>();
+            keys.add(DETAIL_KEY + prodId);
+            keys.add(reverseKey);
+            if (listKeys != null) keys.addAll(listKeys);
+            redisTemplate.delete(keys);
+        } catch (Exception e) {
+            log.warn("Redis 상품 캐시 삭제 실패: 상품 ID: {}, 이유: {}", prodId, e.getMessage());
+        }
+    }
+
+    private void evictLists() {
+        markLocalEvicted(null, true);
+        listCache.invalidateAll();
+        if (!redisEnabled) return;
+        try {
+            markRedisEvicted(EVICTED_KEY + LISTS);
+            Set<String> listKeys = redisTemplate.opsForSet().members(ALL_LIST_KEY);
+            List<String> keys = new ArrayList<>();
+            keys.add(ALL_LIST_KEY);
+            if (listKeys != null) keys.addAll(listKeys);
+            redisTemplate.delete(keys);
+        } catch (Exception e) {
+            log.warn("Redis 상품 목록 캐시 삭제 실패: {}", e.getMessage());
+        }
+    }
+
+    private void markLocalEvicted(Long prodId, boolean lists) {
+        long seq = evictionSeq.incrementAndGet();
+        if (prodId != null) {
+            productEvictedAt.accumulateAndGet(stripe(prodId), seq, Math::max);
+        }
+        if (lists) {
+            listsEvictedAt.accumulateAndGet(seq, Math::max);
+        }
+    }
+
+    // 순번은 in-flight 조회보다 오래 남아 있으면 되므로 캐시와 같은 TTL
+    private void markRedisEvicted(String... markerKeys) {
+        List<String> keys = new ArrayList<>();
+        keys.add(EVICTION_SEQ_KEY);
+        keys.addAll(List.of(markerKeys));
+        redisTemplate.execute(MARK_EVICTED_SCRIPT, keys, String.valueOf(redisTtl.toMillis()));
+    }
+
+    // 읽기 시작(start) 후에 삭제된 상품이 들어있으면 저장하지 않음 (커밋 전 값을 읽었을 수 있음)
+    // 저장 직후에 한 번 더 확인 -> 확인과 저장 사이에 삭제가 끝난 경우도 되돌림
+    private <K, V> void putLocal(Cache<K, Cached<V>> cache, K key, Cached<V> cached,
+                                 long start, Collection<Long> prodIds, boolean list) {
+        if (evictedSince(start, prodIds, list)) return;
+        cache.put(key, cached);
+        if (evictedSince(start, prodIds, list)) {
+            cache.asMap().remove(key, cached);
+        }
+    }
+
+    private boolean evictedSince(long start, Collection<Long> prodIds, boolean list) {
+        if (list && listsEvictedAt.get() > start) return true;
+        for (Long prodId : prodIds) {
+            if (productEvictedAt.get(stripe(prodId)) > start) return true;
+        }
+        return false;
+    }
+
+    private static int stripe(Long prodId) {
+        return Math.floorMod(prodId.hashCode(), EVICTION_STRIPES);
+    }
+
+    private static List<Long> productIds(List<ProductResDTO> products) {
+        return products.stream().map(ProductResDTO::getId).toList();
+    }
+
+    // 커밋 전에 지우면, 그 사이에 다른 요청이 커밋 전 값을 다시 캐시할 수 있음
+    // (커밋 후에 지워도 커밋 전에 읽기 시작한 요청은 남음 -> 삭제 순번으로 막음)
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private <T> Cached<T> toCached(T body) {
+        return new Cached<>(body, etag(writeValue(body)));
+    }
+
+    private static String etag(String json) {
+        return "\"" + DigestUtils.md5DigestAsHex(json.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // 캐시 값과 삭제 순번을 MGET 한 번으로 읽음
+    // Redis 장애는 캐시 미스로 취급 (DB 조회로 계속 진행)
+    private RedisRead getFromRedis(String key) {
+        if (!redisEnabled) return new RedisRead(null, -1);
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(List.of(key, EVICTION_SEQ_KEY));
+            String seq = values == null ? null : values.get(1);
+            return new RedisRead(values == null ? null : values.get(0), seq == null ? 0 : Long.parseLong(seq));
+        } catch (Exception e) {
+            log.warn("Redis 상품 캐시 조회 실패: {}, 이유: {}", key, e.getMessage());
+            return new RedisRead(null, -1);
+        }
+    }
+
+    private void putToRedis(Long prodId, Cached<ProductResDTO> cached, long start) {
+        if (start < 0) return;
+        String key = DETAIL_KEY + prodId;
+        try {
+            redisTemplate.execute(PUT_SCRIPT, List.of(key, EVICTED_KEY + prodId),
+                    writeValue(cached.body()), String.valueOf(redisTtl.toMillis()), String.valueOf(start), "1");
+        } catch (Exception e) {
+            log.warn("Redis 상품 캐시 저장 실패: {}, 이유: {}", key, e.getMessage());
+        }
+    }
+
+    // 목록은 어떤 상품이 들어있는지도 같이 기록 (재고 변경 시 해당 페이지만 지우기 위해)
+    // 상품 수만큼 명령이 필요하므로 스크립트 하나로 한 번에 실행
+    private void putListToRedis(String key, Cached<List<ProductResDTO>> cached, long start) {
+        if (start < 0) return;
+        List<Long> prodIds = productIds(cached.body());
+        List<String> keys = new ArrayList<>();
+        keys.add(key);
+        keys.add(EVICTED_KEY + LISTS);
+        prodIds.forEach(id -> keys.add(EVICTED_KEY + id));
+        keys.add(ALL_LIST_KEY);
+        prodIds.forEach(id -> keys.add(LIST_BY_PRODUCT_KEY + id));
+        try {
+            redisTemplate.execute(PUT_SCRIPT, keys, writeValue(cached.body()),
+                    String.valueOf(redisTtl.toMillis()), String.valueOf(start), String.valueOf(prodIds.size() + 1));
+        } catch (Exception e) {
+            log.warn("Redis 상품 목록 캐시 저장 실패: {}, 이유: {}", key, e.getMessage());
+        }
+    }
+
+    private String writeValue(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("상품 캐시 직렬화 실패", e);
+        }
+    }
+
+    // 읽을 수 없는 값(클래스 구조 변경 등)은 캐시 미스로 취급
+    private <T> T readValue(String json, JavaType type) {
+        if (json == null) return null;
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            log.warn("Redis 상품 캐시 역직렬화 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.playdata.productservice.product.service;
+
+import com.playdata.productservice.product.dto.ProductSearchDTO;
+import com.querydsl.core.BooleanBuilder;
+
+import static com.playdata.productservice.product.entity.QProduct.product;
+
+// 상품 목록 검색 조건(where 절)을 만드는 역할
+public final class ProductSearchCondition {
+
+    private ProductSearchCondition() {
+    }
+
+    public static BooleanBuilder of(ProductSearchDTO dto) {
+        BooleanBuilder builder = new BooleanBuilder();
+
+        if (dto.getCategory() != null) {
+            if (dto.getCategory().equals("name")) {
+                builder.and(product.name.contains(dto.getSearchName()));
+            }
+
+            if (dto.getCategory().equals("category")) {
+                builder.and(product.category.contains(dto.getSearchName()));
+            }
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,613 @@
+package com.playdata.productservice.product.service;
+
+import com.playdata.productservice.common.event.ProductChangedEvent;
+import com.playdata.productservice.product.dto.ProductSearchDTO;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static com.playdata.productservice.product.entity.QProduct.product;
+
+/*
+    상품 검색용 n-gram 역색인 (메모리)
+
+    LIKE '%검색어%'는 인덱스를 못 타서 검색할 때마다 tbl_product 전체를 읽음.
+    그래서 상품명/카테고리를 1글자, 2글자 조각(gram)으로 잘라서 "조각 -> 상품 id 목록"을 들고 있다가,
+    검색어의 조각 중 상품 수가 가장 적은 목록만 훑어서 실제로 검색어를 포함하는지 확인함.
+    (결과는 LIKE와 같고, 훑는 양은 카탈로그 전체가 아니라 후보 목록 크기만큼)
+
+    [기동] -> DB에서 id, name, category만 읽어서 색인 생성 (생성 전까지는 기존 QueryDSL 검색 사용)
+    [등록/삭제] -> ProductChangedEvent (다른 인스턴스의 변경은 bus로 받음) 로 색인 갱신
+    [rebuild] -> 기동 시 한 번 (periodic-rebuild: true면 이벤트 유실 등으로 어긋난 색인을 주기적으로 다시 생성)
+                 생성하는 동안 들어온 등록/삭제 이벤트는 모아 두었다가 교체 직전에 새 색인에 다시 적용
+                 (DB를 이미 읽고 지나간 상품의 삭제, 다 읽은 뒤의 등록이 교체로 사라지지 않도록)
+
+    메모리: 인스턴스마다 색인을 들고 있으므로 상품 하나당 객체를 만들지 않음
+    - 상품 id/원문은 배열, gram별 상품 id 목록은 차이값을 압축한 byte[] (id 하나에 보통 1~2바이트)
+    - 등록/삭제는 작은 변경분에 쌓았다가 일정량이 넘으면 메모리 안에서 합침 (GramIndex)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final JPAQueryFactory factory;
+
+    // false면 항상 기존 QueryDSL(LIKE) 검색 사용
+    @Value("${product.search.index.enabled:true}")
+    private boolean enabled;
+
+    // true면 rebuild-interval마다 DB를 다시 읽어 색인 전체를 재생성 (기본은 기동 시 한 번 + 이벤트로 갱신)
+    @Value("${product.search.index.periodic-rebuild:false}")
+    private boolean periodicRebuild;
+
+    // 색인 생성 전이면 null
+    private volatile Snapshot snapshot;
+
+    // rebuild 중에 들어온 이벤트 (rebuild 중이 아니면 null), swapLock으로 보호
+    private final Object swapLock = new Object();
+    private List<ProductChangedEvent> pendingEvents;
+
+    /**
+     * 검색어로 상품 id를 찾음 (id 오름차순, offset/limit 적용)
+     *
+     * @return - 색인으로 처리할 수 없는 요청이면 null (검색어 없음, 색인 생성 전 등 -> QueryDSL로 처리)
+     */
+    public List<Long> search(ProductSearchDTO dto, long offset, int limit) {
+        GramIndex index = indexFor(dto);
+        return index == null ? null : index.search(dto.getSearchName(), null, offset, limit);
+    }
+
+    /**
+     * 검색어로 cursor(상품 id)보다 작은 상품 id를 찾음 (id 내림차순, 최대 limit개)
+     *
+     * @return - 색인으로 처리할 수 없는 요청이면 null
+     */
+    public List<Long> searchBefore(ProductSearchDTO dto, long cursor, int limit) {
+        GramIndex index = indexFor(dto);
+        return index == null ? null : index.search(dto.getSearchName(), cursor, 0, limit);
+    }
+
+    private GramIndex indexFor(ProductSearchDTO dto) {
+        Snapshot current = snapshot;
+        if (!enabled || current == null) return null;
+        if (dto.getCategory() == null || !StringUtils.hasText(dto.getSearchName())) return null;
+
+        return switch (dto.getCategory()) {
+            case "name" -> current.name();
+            case "category" -> current.category();
+            default -> null;
+        };
+    }
+
+    @Scheduled(fixedDelayString = "${product.search.index.rebuild-interval:600000}",
+            initialDelayString = "${product.search.index.rebuild-interval:600000}")
+    public void periodicRebuild() {
+        if (periodicRebuild) {
+            rebuild();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (!enabled) return;
+
+        synchronized (swapLock) {
+            pendingEvents = new ArrayList<>();
+        }
+        try {
+            GramIndex.Builder names = new GramIndex.Builder(false);
+            GramIndex.Builder categories = new GramIndex.Builder(true);
+            Long lastId = 0L;
+            int count = 0;
+            while (true) {
+                // id 기준으로 끊어서 읽음 (상품 전체를 한 번에 메모리에 올리지 않도록)
+                List<Tuple> rows = factory
+                        .select(product.id, product.name, product.category)
+                        .from(product)
+                        .where(product.id.gt(lastId))
+                        .orderBy(product.id.asc())
+                        .limit(LOAD_CHUNK_SIZE)
+                        .fetch();
+                for (Tuple row : rows) {
+                    names.add(row.get(product.id), row.get(product.name));
+                    categories.add(row.get(product.id), row.get(product.category));
+                    lastId = row.get(product.id);
+                }
+                count += rows.size();
+                if (rows.size() < LOAD_CHUNK_SIZE) break;
+            }
+            Snapshot rebuilt = new Snapshot(names.build(), categories.build());
+            // 생성하는 동안 들어온 이벤트를 순서대로 다시 적용하고 교체 (그 사이 이벤트는 기다렸다가 새 색인에 적용됨)
+            synchronized (swapLock) {
+                for (ProductChangedEvent event : pendingEvents) {
+                    apply(rebuilt, event);
+                }
+                snapshot = rebuilt;
+            }
+            log.info("상품 검색 색인 생성 완료: {}건", count);
+        } catch (Exception e) {
+            // 색인이 없어도 QueryDSL 검색으로 동작하므로 서버 기동을 막지 않음
+            log.error("상품 검색 색인 생성 실패: {}", e.getMessage());
+        } finally {
+            synchronized (swapLock) {
+                pendingEvents = null;
+            }
+        }
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled || event.getProductId() == null) return;
+
+        Snapshot current;
+        synchronized (swapLock) {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+            current = snapshot;
+        }
+        // 지금 검색에 쓰이는 색인에도 바로 반영
+        if (current != null) {
+            apply(current, event);
+        }
+    }
+
+    private void apply(Snapshot target, ProductChangedEvent event) {
+        Long productId = event.getProductId();
+        if ("DELETED".equals(event.getChangeType())) {
+            target.remove(productId);
+            return;
+        }
+
+        Tuple row = factory
+                .select(product.id, product.name, product.category)
+                .from(product)
+                .where(product.id.eq(productId))
+                .fetchOne();
+        if (row != null) {
+            target.add(productId, row.get(product.name), row.get(product.category));
+        }
+    }
+
+    private record Snapshot(GramIndex name, GramIndex category) {
+
+        void add(Long id, String name, String category) {
+            this.name.add(id, name);
+            this.category.add(id, category);
+        }
+
+        void remove(Long id) {
+            this.name.remove(id);
+            this.category.remove(id);
+        }
+    }
+
+    /*
+        필드 하나(상품명 or 카테고리)에 대한 색인
+
+        base: 생성 후 바뀌지 않는 색인 (id/원문 배열 + gram별 압축 목록)
+        added/removed: base 이후의 등록(수정)/삭제 -> base보다 우선함
+        변경이 쌓이면 메모리 안에서 base로 합침 (DB를 다시 읽지 않음)
+        검색은 state를 한 번 읽어서 그 시점의 base + 변경으로 처리
+     */
+    private static class GramIndex {
+
+        // 변경이 이만큼(또는 base의 1/8) 넘게 쌓이면 base로 합침
+        private static final int MIN_CHANGES_TO_MERGE = 1000;
+
+        private volatile State state;
+
+        GramIndex(Base base) {
+            this.state = State.of(base);
+        }
+
+        synchronized void add(Long id, String text) {
+            if (text == null) {
+                remove(id);
+                return;
+            }
+            State current = state;
+            current.added().put(id, normalize(text));
+            mergeIfNeeded(current);
+        }
+
+        synchronized void remove(Long id) {
+            State current = state;
+            current.added().remove(id);
+            if (current.base().indexOf(id) >= 0) {
+                current.removed().add(id);
+            }
+            mergeIfNeeded(current);
+        }
+
+        private void mergeIfNeeded(State current) {
+            int changes = current.added().size() + current.removed().size();
+            if (changes > Math.max(MIN_CHANGES_TO_MERGE, current.base().size() / 8)) {
+                state = State.of(current.base().merge(current.added(), current.removed()));
+            }
+        }
+
+        // before가 null이면 id 오름차순 전체, 있으면 before보다 작은 id를 내림차순으로
+        List<Long> search(String keyword, Long before, long offset, int limit) {
+            State current = state;
+            String normalized = normalize(keyword);
+            List<Long> result = new ArrayList<>();
+
+            // base: 검색어의 gram 중 가장 적은 상품을 가진 목록을 후보로 사용 (한 조각이라도 없으면 base에는 결과 없음)
+            Posting candidates = null;
+            for (String gram : keywordGrams(normalized)) {
+                Posting posting = current.base().posting(gram);
+                if (posting == null) {
+                    candidates = Posting.EMPTY;
+                    break;
+                }
+                if (candidates == null || posting.size() < candidates.size()) {
+                    candidates = posting;
+                }
+            }
+            if (candidates == null) return result;
+
+            // base 후보와 변경분(added)을 id 순서대로 합쳐서 훑음
+            PrimitiveIterator.OfLong baseIds = candidates.iterator(before);
+            Map<Long, String> addedTexts = before == null ?
+                    current.added() : current.added().headMap(before, false).descendingMap();
+            Iterator<Map.Entry<Long, String>> addedIds = addedTexts.entrySet().iterator();
+
+            long nextBase = nextBase(current, baseIds, normalized);
+            Map.Entry<Long, String> nextAdded = nextAdded(addedIds, normalized);
+            long skipped = 0;
+            while (result.size() < limit && (nextBase >= 0 || nextAdded != null)) {
+                long id;
+                if (nextAdded == null || (nextBase >= 0 && (before == null ?
+                        nextBase < nextAdded.getKey() : nextBase > nextAdded.getKey()))) {
+                    id = nextBase;
+                    nextBase = nextBase(current, baseIds, normalized);
+                } else {
+                    id = nextAdded.getKey();
+                    nextAdded = nextAdded(addedIds, normalized);
+                }
+                if (skipped++ < offset) continue;
+                result.add(id);
+            }
+            return result;
+        }
+
+        // 검색어를 포함하고 아직 유효한 다음 base 상품 id (없으면 -1)
+        private static long nextBase(State current, PrimitiveIterator.OfLong ids, String keyword) {
+            while (ids.hasNext()) {
+                long id = ids.nextLong();
+                if (current.added().containsKey(id) || current.removed().contains(id)) continue;
+                if (current.base().text(id).contains(keyword)) return id;
+            }
+            return -1;
+        }
+
+        private static Map.Entry<Long, String> nextAdded(Iterator<Map.Entry<Long, String>> entries, String keyword) {
+            while (entries.hasNext()) {
+                Map.Entry<Long, String> entry = entries.next();
+                if (entry.getValue().contains(keyword)) return entry;
+            }
+            return null;
+        }
+
+        private static String normalize(String text) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+
+        // 색인할 조각: 모든 1글자 + 모든 연속된 2글자
+        private static List<String> grams(String text) {
+            List<String> grams = new ArrayList<>();
+            for (int i = 0; i < text.length(); i++) {
+                grams.add(text.substring(i, i + 1));
+                if (i + 1 < text.length()) {
+                    grams.add(text.substring(i, i + 2));
+                }
+            }
+            return grams;
+        }
+
+        // 검색에 쓸 조각: 1글자 검색어는 그 글자, 아니면 연속된 2글자들
+        private static List<String> keywordGrams(String keyword) {
+            if (keyword.length() == 1) return List.of(keyword);
+            List<String> grams = new ArrayList<>();
+            for (int i = 0; i + 1 < keyword.length(); i++) {
+                grams.add(keyword.substring(i, i + 2));
+            }
+            return grams;
+        }
+
+        // DB에서 id 오름차순으로 읽은 상품으로 base를 만듦
+        static class Builder {
+
+            private final boolean shareTexts;
+            private long[] ids = new long[1024];
+            private String[] texts = new String[1024];
+            private int size;
+
+            // shareTexts: 같은 원문이 많은 필드(카테고리)는 같은 문자열 객체를 같이 씀
+            Builder(boolean shareTexts) {
+                this.shareTexts = shareTexts;
+            }
+
+            void add(Long id, String text) {
+                if (text == null) return;
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                    texts = Arrays.copyOf(texts, size * 2);
+                }
+                ids[size] = id;
+                texts[size] = normalize(text);
+                size++;
+            }
+
+            GramIndex build() {
+                return new GramIndex(Base.build(ids, texts, size, shareTexts));
+            }
+        }
+    }
+
+    private record State(Base base, ConcurrentSkipListMap<Long, String> added, Set<Long> removed) {
+
+        static State of(Base base) {
+            return new State(base, new ConcurrentSkipListMap<>(), ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /*
+        생성 후 바뀌지 않는 색인 (상품 하나당 객체를 만들지 않음)
+        - ids: 상품 id 오름차순 배열, texts: 같은 순서의 소문자 원문 (id는 이진 탐색으로 찾음)
+        - postings: gram -> 상품 id 목록 (Posting: 차이값을 가변 길이 바이트로 압축)
+     */
+    private static final class Base {
+
+        private final long[] ids;
+        private final String[] texts;
+        private final boolean shareTexts;
+        private final Map<String, Posting> postings;
+
+        private Base(long[] ids, String[] texts, boolean shareTexts, Map<String, Posting> postings) {
+            this.ids = ids;
+            this.texts = texts;
+            this.shareTexts = shareTexts;
+            this.postings = postings;
+        }
+
+        // ids는 오름차순, texts는 소문자로 바꾼 원문
+        static Base build(long[] ids, String[] texts, int size, boolean shareTexts) {
+            long[] sortedIds = Arrays.copyOf(ids, size);
+            String[] sharedTexts = Arrays.copyOf(texts, size);
+            if (shareTexts) {
+                Map<String, String> shared = new HashMap<>();
+                for (int i = 0; i < size; i++) {
+                    sharedTexts[i] = shared.computeIfAbsent(sharedTexts[i], text -> text);
+                }
+            }
+
+            Map<String, Posting.Writer> writers = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                for (String gram : GramIndex.grams(sharedTexts[i])) {
+                    writers.computeIfAbsent(gram, k -> new Posting.Writer()).add(sortedIds[i]);
+                }
+            }
+            Map<String, Posting> postings = new HashMap<>(writers.size() * 4 / 3 + 1);
+            writers.forEach((gram, writer) -> postings.put(gram, writer.toPosting()));
+            return new Base(sortedIds, sharedTexts, shareTexts, postings);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        int indexOf(long id) {
+            return Arrays.binarySearch(ids, id);
+        }
+
+        String text(long id) {
+            return texts[indexOf(id)];
+        }
+
+        Posting posting(String gram) {
+            return postings.get(gram);
+        }
+
+        // 변경분을 반영한 새 base (removed와 added에 있는 id는 base의 원문 대신 added의 원문 사용)
+        Base merge(NavigableMap<Long, String> added, Set<Long> removed) {
+            int capacity = ids.length + added.size();
+            long[] mergedIds = new long[capacity];
+            String[] mergedTexts = new String[capacity];
+            int size = 0;
+
+            Iterator<Map.Entry<Long, String>> addedEntries = added.entrySet().iterator();
+            Map.Entry<Long, String> nextAdded = addedEntries.hasNext() ? addedEntries.next() : null;
+            for (int i = 0; i < ids.length; i++) {
+                while (nextAdded != null && nextAdded.getKey() < ids[i]) {
+                    mergedIds[size] = nextAdded.getKey();
+                    mergedTexts[size++] = nextAdded.getValue();
+                    nextAdded = addedEntries.hasNext() ? addedEntries.next() : null;
+                }
+                if (removed.contains(ids[i]) || added.containsKey(ids[i])) continue;
+                mergedIds[size] = ids[i];
+                mergedTexts[size++] = texts[i];
+            }
+            while (nextAdded != null) {
+                mergedIds[size] = nextAdded.getKey();
+                mergedTexts[size++] = nextAdded.getValue();
+                nextAdded = addedEntries.hasNext() ? addedEntries.next() : null;
+            }
+            return build(mergedIds, mergedTexts, size, shareTexts);
+        }
+    }
+
+    /*
+        gram 하나의 상품 id 목록 (오름차순)
+        BLOCK개씩 묶어서 블록의 첫 id는 firstIds에, 나머지는 앞 id와의 차이를 가변 길이(7bit씩)로 data에 저장
+        -> id 하나에 보통 1~2바이트, 커서 검색은 블록 단위로 찾아 들어가서 뒤에서부터 읽음
+     */
+    private static final class Posting {
+
+        private static final int BLOCK = 128;
+        private static final Posting EMPTY = new Posting(new byte[0], new long[0], new int[0], 0);
+
+        private final byte[] data;
+        private final long[] firstIds;
+        private final int[] offsets;
+        private final int size;
+
+        private Posting(byte[] data, long[] firstIds, int[] offsets, int size) {
+            this.data = data;
+            this.firstIds = firstIds;
+            this.offsets = offsets;
+            this.size = size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        // before가 null이면 오름차순 전체, 있으면 before보다 작은 id를 내림차순으로
+        PrimitiveIterator.OfLong iterator(Long before) {
+            if (before == null) {
+                return new BlockIterator(0, false, Long.MAX_VALUE);
+            }
+            // before보다 작은 id로 시작하는 마지막 블록부터
+            int block = Arrays.binarySearch(firstIds, before);
+            block = block >= 0 ? block - 1 : -block - 2;
+            return new BlockIterator(block, true, before);
+        }
+
+        private int decode(int block, long[] buffer) {
+            int count = Math.min(BLOCK, size - block * BLOCK);
+            long id = firstIds[block];
+            buffer[0] = id;
+            int pos = offsets[block];
+            for (int i = 1; i < count; i++) {
+                long delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[pos++];
+                    delta |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += delta;
+                buffer[i] = id;
+            }
+            return count;
+        }
+
+        private final class BlockIterator implements PrimitiveIterator.OfLong {
+
+            private final boolean descending;
+            private final long before;
+            private final long[] buffer = new long[BLOCK];
+            private int block;
+            private int count;
+            private int index;
+            private boolean ready;
+
+            BlockIterator(int block, boolean descending, long before) {
+                this.block = block;
+                this.descending = descending;
+                this.before = before;
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (!ready) {
+                    if (index < 0 || index >= count) {
+                        // 다음 블록 읽기
+                        if (block < 0 || block >= firstIds.length) return false;
+                        count = decode(block, buffer);
+                        index = descending ? count - 1 : 0;
+                        block += descending ? -1 : 1;
+                        continue;
+                    }
+                    if (buffer[index] < before) {
+                        ready = true;
+                    } else {
+                        index += descending ? -1 : 1;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) throw new NoSuchElementException();
+                ready = false;
+                long id = buffer[index];
+                index += descending ? -1 : 1;
+                return id;
+            }
+        }
+
+        // id를 오름차순으로 받아서 Posting을 만듦 (같은 id가 이어서 오면 한 번만)
+        static class Writer {
+
+            private byte[] data = new byte[8];
+            private long[] firstIds = new long[1];
+            private int[] offsets = new int[1];
+            private int length;
+            private int size;
+            private long last = -1;
+
+            void add(long id) {
+                if (id == last) return;
+                if (size % BLOCK == 0) {
+                    int block = size / BLOCK;
+                    if (block == firstIds.length) {
+                        firstIds = Arrays.copyOf(firstIds, block * 2);
+                        offsets = Arrays.copyOf(offsets, block * 2);
+                    }
+                    firstIds[block] = id;
+                    offsets[block] = length;
+                } else {
+                    long delta = id - last;
+                    while (true) {
+                        if (length == data.length) {
+                            data = Arrays.copyOf(data, length * 2);
+                        }
+                        if ((delta & ~0x7FL) == 0) {
+                            data[length++] = (byte) delta;
+                            break;
+                        }
+                        data[length++] = (byte) ((delta & 0x7F) | 0x80);
+                        delta >>>= 7;
+                    }
+                }
+                last = id;
+                size++;
+            }
+
+            Posting toPosting() {
+                int blocks = (size + BLOCK - 1) / BLOCK;
+                return new Posting(Arrays.copyOf(data, length), Arrays.copyOf(firstIds, blocks),
+                        Arrays.copyOf(offsets, blocks), size);
+            }
+        }
+    }
+}
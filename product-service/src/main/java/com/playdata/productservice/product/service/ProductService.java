@@ -2,17 +2,21 @@ package com.playdata.productservice.product.service;
 
 
 import com.playdata.productservice.common.configs.AwsS3Config;
+import com.playdata.productservice.product.dto.ProductPageResDTO;
 import com.playdata.productservice.product.dto.ProductResDTO;
 import com.playdata.productservice.product.dto.ProductSaveReqDTO;
 import com.playdata.productservice.product.dto.ProductSearchDTO;
+import com.playdata.productservice.product.dto.ProductStockReqDTO;
 import com.playdata.productservice.product.entity.Product;
 import com.playdata.productservice.product.entity.QProduct;
+import com.playdata.productservice.product.entity.StockMode;
 import com.playdata.productservice.product.repository.ProductRepository;
-import com.querydsl.core.BooleanBuilder;
+import com.playdata.productservice.product.repository.ProductStockBatchRepository;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,9 +24,14 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.playdata.productservice.product.entity.QProduct.*;
@@ -34,8 +43,19 @@ import static com.playdata.productservice.product.entity.QProduct.*;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductStockBatchRepository productStockBatchRepository;
     private final AwsS3Config s3Config;
     private final JPAQueryFactory factory;
+    private final HotStockService hotStockService;
+    private final ProductEventPublisher productEventPublisher;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductResponseCache productResponseCache;
+    private final ProductImageProcessor productImageProcessor;
+    private final ProductImageCleaner productImageCleaner;
+
+    // 커서 기반 목록 조회의 최대 페이지 크기
+    @Value("${product.list.max-page-size:100}")
+    private int maxPageSize;
 
     public Product productCreate(ProductSaveReqDTO dto) throws IOException {
 
@@ -59,37 +79,43 @@ public class ProductService {
         */
 
         // 더 이상 로컬 경로에 이미지를 저장하지 않고, s3 버킷에 저장
-        String imageUrl
-                = s3Config.uploadToS3Bucket(productImage.getBytes(), uniqueFileName);
+        // getBytes()로 파일 전체를 힙에 올리지 않고 스트림 그대로 전송
+        String imageUrl;
+        try (InputStream inputStream = productImage.getInputStream()) {
+            imageUrl = s3Config.uploadToS3Bucket(inputStream, productImage.getSize(),
+                    productImage.getContentType(), uniqueFileName);
+        }
 
         Product product = dto.toEntity();
         product.setImagePath(imageUrl); // 파일명이 아닌 S3 오브젝트의 url이 저장될 것이다.
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productEventPublisher.productCreated(saved.getId());
+        productResponseCache.evictListsAfterCommit();
+        // 썸네일/축소본은 커밋 후 별도 스레드에서 생성
+        productImageProcessor.processAfterCommit(saved.getId(), imageUrl);
+        return saved;
 
     }
 
 
 
     public List<ProductResDTO> productList(ProductSearchDTO dto, Pageable pageable) {
-        BooleanBuilder builder = new BooleanBuilder();
-
-        if (dto.getCategory() != null) {
-            if (dto.getCategory().equals("name")) {
-                builder.and(product.name.contains(dto.getSearchName()));
-            }
-
-            if (dto.getCategory().equals("category")) {
-                builder.and(product.category.contains(dto.getSearchName()));
-            }
+        // 검색어가 있으면 n-gram 색인에서 id를 찾아서 해당 상품만 조회 (LIKE '%검색어%' 전체 스캔 X)
+        List<Long> ids = productSearchIndex.search(dto, pageable.getOffset(), pageable.getPageSize());
+        if (ids != null) {
+            Map<Long, Product> found = ids.isEmpty() ? Map.of() : productRepository.findByIdIn(ids).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            // findByIdIn은 순서를 보장하지 않으므로 색인 결과 순서대로 다시 정렬
+            return ids.stream()
+                    .map(found::get)
+                    .filter(Objects::nonNull)
+                    .map(Product::fromEntity)
+                    .collect(Collectors.toList());
         }
 
-        List<Product> products = factory
-                .selectFrom(product)
-                .where(builder)
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetch();
+        // 검색어가 없는 목록 조회 (혹은 색인이 아직 준비되지 않은 경우)
+        List<Product> products = ProductPageQuery.offset(factory, dto, pageable.getOffset(), pageable.getPageSize());
 
         return products.stream()
                 .map(Product::fromEntity)
@@ -114,15 +140,41 @@ public class ProductService {
         */
     }
 
+    // 커서 기반 목록 조회 (최신 상품부터)
+    // offset은 앞 페이지의 행을 모두 읽고 버리지만, 커서는 PK 인덱스에서 바로 시작 위치를 찾음 -> 깊은 페이지도 첫 페이지와 비용이 같음
+    public ProductPageResDTO productListByCursor(ProductSearchDTO dto, Long cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), maxPageSize);
+        long before = cursor == null ? Long.MAX_VALUE : cursor;
+
+        // 한 페이지 + 1개를 가져옴 (1개 더 있으면 다음 페이지가 있다는 뜻)
+        List<Product> products;
+        List<Long> ids = productSearchIndex.searchBefore(dto, before, pageSize + 1);
+        if (ids != null) {
+            Map<Long, Product> found = ids.isEmpty() ? Map.of() : productRepository.findByIdIn(ids).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            products = ids.stream()
+                    .map(found::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } else {
+            products = ProductPageQuery.before(factory, dto, before, pageSize + 1);
+        }
+        return ProductPageQuery.toPage(products, pageSize);
+    }
+
     public void productDelete(Long id) throws Exception {
         Product product = productRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException("Product with id: " + id + " not found")
         );
 
-        String imageUrl = product.getImagePath();
-        s3Config.deleteFromS3Bucket(imageUrl);
+        // 원본/썸네일/축소본 이미지는 커밋 후 백그라운드에서 삭제 (S3 응답을 기다리지 않음)
+        // 썸네일/축소본은 DB에 기록된 경로가 아니라 원본 경로로 정해지는 위치를 지움 (변환 중에 삭제되는 경우)
+        productImageCleaner.deleteAfterCommit(productImageProcessor.imageUrls(product.getImagePath()));
 
         productRepository.deleteById(id);
+        productEventPublisher.productDeleted(id);
+        productResponseCache.evictProductsAfterCommit(List.of(id));
+        productResponseCache.evictListsAfterCommit();
     }
 
     public ProductResDTO getProductInfo(Long prodId) {
@@ -130,17 +182,65 @@ public class ProductService {
                 () -> new EntityNotFoundException("Product with id: " + prodId + " not found")
         );
 
-        return product.fromEntity();
+        ProductResDTO dto = product.fromEntity();
+        // 핫딜 상품은 Redis 재고가 최신값
+        Integer hotStock = hotStockService.currentStock(prodId);
+        if (hotStock != null) {
+            dto.setStockQuantity(hotStock);
+        }
+        return dto;
     }
 
     public void updateStockQuantity(Long prodId, int stockQuantity) {
-        Product foundProduct = productRepository.findById(prodId).orElseThrow(
-                () -> new EntityNotFoundException("Product with id: " + prodId + " not found")
-        );
+        productResponseCache.evictProductsAfterCommit(List.of(prodId));
+        if (hotStockService.trySet(prodId, stockQuantity)) {
+            return;
+        }
+        // 행을 잠그고 재고 관리 방식을 다시 확인 (그 사이 REDIS 모드로 전환됐으면 Redis 값을 덮어씀)
+        Product foundProduct = lockProduct(prodId);
+        if (hotStockService.isHot(foundProduct)) {
+            hotStockService.setHot(prodId, stockQuantity);
+            return;
+        }
         foundProduct.setStockQuantity(stockQuantity);
         productRepository.save(foundProduct);
     }
 
+    // 재고를 quantity만큼 차감하고 남은 재고를 리턴
+    // updateStockQuantity처럼 절대값을 덮어쓰지 않고 DB에서 조건부로 빼기 때문에 동시 주문에도 안전함.
+    public int decreaseStock(Long prodId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("주문 수량이 올바르지 않습니다. 상품 ID: " + prodId);
+        }
+
+        productResponseCache.evictProductsAfterCommit(List.of(prodId));
+
+        // 핫딜 상품이면 Redis에서 차감하고 끝 (DB 행 잠금 없음)
+        Long hotRemaining = hotStockService.tryDecrease(prodId, quantity);
+        if (hotRemaining != null) {
+            return hotRemaining.intValue();
+        }
+
+        int updated = productRepository.decreaseStock(prodId, quantity);
+
+        // 같은 트랜잭션 안에서 잠가서 조회하므로 방금 차감한 결과가 보임 (이후 모드 전환은 커밋까지 대기)
+        Product locked = lockProduct(prodId);
+
+        // Redis 키를 확인한 뒤 행 잠금을 기다리는 사이 REDIS 모드로 전환된 경우
+        // -> DB 재고는 Redis 값의 사본이므로 DB 차감은 되돌리고 Redis에서 차감
+        if (hotStockService.isHot(locked)) {
+            if (updated > 0) {
+                locked.setStockQuantity(locked.getStockQuantity() + quantity);
+            }
+            return (int) hotStockService.decreaseHot(prodId, quantity);
+        }
+
+        if (updated == 0) {
+            throw new IllegalArgumentException("재고 부족! 상품 ID: " + prodId + ", 남은 재고: " + locked.getStockQuantity());
+        }
+        return locked.getStockQuantity();
+    }
+
     public List<ProductResDTO> getProductsName(List<Long> productIds) {
         List<Product> products = productRepository.findByIdIn(productIds);
 
@@ -149,14 +249,110 @@ public class ProductService {
                 .collect(Collectors.toList());
     }
 
+    // 주문 하나에 담긴 상품들의 재고를 한 번에 확인하고 차감 (하나의 트랜잭션)
+    // 하나라도 재고가 부족하면 예외가 발생하고 전체가 롤백되기 때문에 일부만 차감되는 일이 없음.
+    public List<ProductResDTO> reserveProducts(List<ProductStockReqDTO> dtoList) {
+        // 같은 상품이 여러 줄로 들어올 수 있으니 상품 id별로 수량을 합쳐둔다.
+        // TreeMap -> id 순서가 유지되므로 잠금 순서와 일치함.
+        Map<Long, Integer> quantityMap = new TreeMap<>();
+        for (ProductStockReqDTO dto : dtoList) {
+            if (dto.getProductQuantity() <= 0) {
+                throw new IllegalArgumentException("주문 수량이 올바르지 않습니다. 상품 ID: " + dto.getProductId());
+            }
+            quantityMap.merge(dto.getProductId(), dto.getProductQuantity(), Integer::sum);
+        }
+        productResponseCache.evictProductsAfterCommit(quantityMap.keySet());
+
+        // 핫딜 상품은 Redis에서 먼저 차감
+        // (이후 DB 쪽에서 예외가 나서 롤백되면 HotStockService가 Redis 재고를 되돌림)
+        Map<Long, Integer> hotRemaining = new TreeMap<>();
+        for (Map.Entry<Long, Integer> entry : quantityMap.entrySet()) {
+            Long remaining = hotStockService.tryDecrease(entry.getKey(), entry.getValue());
+            if (remaining != null) {
+                hotRemaining.put(entry.getKey(), remaining.intValue());
+            }
+        }
+
+        List<Long> dbIds = new ArrayList<>(quantityMap.keySet());
+        dbIds.removeAll(hotRemaining.keySet());
+
+        List<Product> products = dbIds.isEmpty() ?
+                new ArrayList<>() : productRepository.findAllByIdForUpdate(dbIds);
+        if (products.size() != dbIds.size()) {
+            throw new EntityNotFoundException("Product not found in " + dbIds);
+        }
+
+        List<Product> dbProducts = new ArrayList<>();
+        for (Product foundProd : products) {
+            int quantity = quantityMap.get(foundProd.getId());
+            // 행을 잠근 뒤 다시 확인: Redis 키 확인 후 잠금을 기다리는 사이 REDIS 모드로 전환됐으면 Redis에서 차감
+            if (hotStockService.isHot(foundProd)) {
+                hotRemaining.put(foundProd.getId(), (int) hotStockService.decreaseHot(foundProd.getId(), quantity));
+                continue;
+            }
+            if (foundProd.getStockQuantity() < quantity) {
+                throw new IllegalArgumentException("재고 부족! 상품 ID: " + foundProd.getId());
+            }
+            // 더티 체킹으로 트랜잭션 종료 시 update
+            foundProd.setStockQuantity(foundProd.getStockQuantity() - quantity);
+            dbProducts.add(foundProd);
+        }
+
+        List<ProductResDTO> result = dbProducts.stream()
+                .map(Product::fromEntity)
+                .collect(Collectors.toList());
+        if (!hotRemaining.isEmpty()) {
+            for (Product hot : productRepository.findByIdIn(new ArrayList<>(hotRemaining.keySet()))) {
+                ProductResDTO dto = hot.fromEntity();
+                dto.setStockQuantity(hotRemaining.get(hot.getId()));
+                result.add(dto);
+            }
+        }
+        return result;
+    }
+
+    // 상품의 재고 관리 방식(DB / REDIS) 전환
+    public void changeStockMode(Long prodId, StockMode mode) {
+        Product foundProd = lockProduct(prodId);
+        hotStockService.changeMode(foundProd, mode);
+        productResponseCache.evictProductsAfterCommit(List.of(prodId));
+    }
+
+    // 주문 취소 -> 재고 복구
+    // 상품마다 조회 + 저장(2N번) 하지 않고, 상대값 증가 UPDATE를 JDBC batch로 한 번에 보냄.
     public void cancelProduct(Map<Long, Integer> map) {
-        for (Long key : map.keySet()) {
-            Product foundProd = productRepository.findById(key).orElseThrow(
-                    () -> new EntityNotFoundException("Product with id: " + key + " not found")
-            );
-            int quantity = foundProd.getStockQuantity();
-            foundProd.setStockQuantity(quantity + map.get(key));
-            productRepository.save(foundProd);
+        productResponseCache.evictProductsAfterCommit(map.keySet());
+
+        Map<Long, Integer> dbQuantityMap = new TreeMap<>();
+        for (Map.Entry<Long, Integer> entry : map.entrySet()) {
+            // 핫딜 상품은 Redis 재고를 증가
+            if (hotStockService.tryIncrease(entry.getKey(), entry.getValue()) == null) {
+                dbQuantityMap.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        List<Long> missing = productStockBatchRepository.increaseStocks(dbQuantityMap);
+        if (!missing.isEmpty()) {
+            // 기존과 같이 없는 상품이 있으면 예외 -> 트랜잭션 롤백
+            throw new EntityNotFoundException("Product not found in " + missing);
         }
+
+        // Redis 키를 확인한 뒤 그 사이 REDIS 모드로 전환된 상품은 DB 증가를 되돌리고 Redis에서 증가
+        // (Redis 재고를 쓰지 않으면 모든 상품이 DB 모드이므로 다시 조회하지 않음)
+        if (dbQuantityMap.isEmpty() || !hotStockService.isEnabled()) return;
+        for (Product locked : productRepository.findAllByIdForUpdate(dbQuantityMap.keySet())) {
+            if (hotStockService.isHot(locked)) {
+                int quantity = dbQuantityMap.get(locked.getId());
+                locked.setStockQuantity(locked.getStockQuantity() - quantity);
+                hotStockService.increaseHot(locked.getId(), quantity);
+            }
+        }
+    }
+
+    // 상품 행을 잠그고 조회 (재고 관리 방식 전환과 재고 변경이 엇갈리지 않도록)
+    private Product lockProduct(Long prodId) {
+        return productRepository.findAllByIdForUpdate(List.of(prodId)).stream().findFirst().orElseThrow(
+                () -> new EntityNotFoundException("Product with id: " + prodId + " not found")
+        );
     }
 }
@@ -0,0 +1,262 @@
+package com.playdata.productservice.common.configs;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+    S3 스트리밍 업로드, 일괄 삭제 확인 (로컬 S3 대역 서버 사용)
+    테스트 JVM 힙(build.gradle의 smallHeapTest)보다 큰 파일을 올려서, 파일 전체를 메모리에 올리지 않는지 확인함.
+ */
+class AwsS3ConfigTest {
+
+    private FakeS3Server server;
+    private AwsS3Config s3Config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeS3Server();
+        s3Config = new AwsS3Config();
+        ReflectionTestUtils.setField(s3Config, "accessKey", "test");
+        ReflectionTestUtils.setField(s3Config, "secretKey", "test");
+        ReflectionTestUtils.setField(s3Config, "bucketName", "bucket");
+        ReflectionTestUtils.setField(s3Config, "region", "ap-northeast-2");
+        ReflectionTestUtils.setField(s3Config, "endpoint", server.url());
+        ReflectionTestUtils.setField(s3Config, "multipartThreshold", DataSize.ofMegabytes(16));
+        ReflectionTestUtils.setField(s3Config, "partSize", DataSize.ofMegabytes(8));
+        ReflectionTestUtils.setField(s3Config, "asyncMaxConcurrency", 8);
+        ReflectionTestUtils.setField(s3Config, "asyncAcquisitionTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.invokeMethod(s3Config, "initializeAmazonS3Client");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(s3Config, "closeAmazonS3Client");
+        server.stop();
+    }
+
+    @Test
+    void smallFileIsUploadedWithSinglePut() throws IOException {
+        long size = DataSize.ofMegabytes(1).toBytes();
+
+        String url;
+        try (InputStream in = new GeneratedInputStream(size)) {
+            url = s3Config.uploadToS3Bucket(in, size, "image/png", "small.png");
+        }
+
+        assertEquals(1, server.puts.get());
+        assertEquals(0, server.parts.get());
+        assertEquals(size, server.receivedBytes.get());
+        assertTrue(url.endsWith("/bucket/small.png"));
+    }
+
+    // build.gradle의 smallHeapTest(힙 512MB)로 실행됨
+    @Test
+    @Tag("small-heap")
+    void fileLargerThanHeapIsStreamedInParts() throws IOException {
+        long size = Runtime.getRuntime().maxMemory() + DataSize.ofMegabytes(64).toBytes();
+
+        try (InputStream in = new GeneratedInputStream(size)) {
+            s3Config.uploadToS3Bucket(in, size, "image/png", "large.png");
+        }
+
+        long partSize = DataSize.ofMegabytes(8).toBytes();
+        assertEquals(size, server.receivedBytes.get());
+        assertEquals((size + partSize - 1) / partSize, server.parts.get());
+        assertEquals(1, server.completes.get());
+        assertEquals(0, server.puts.get());
+    }
+
+    @Test
+    void bulkDeleteIsSplitIntoBatchesOf1000() throws Exception {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            keys.add("image-" + i + ".png");
+        }
+        keys.add(FakeS3Server.FAILING_KEY);
+
+        List<String> failed = s3Config.deleteFromS3BucketAsync(keys).get(30, TimeUnit.SECONDS);
+
+        assertEquals(List.of(1000, 1000, 501), server.deleteBatches.stream().sorted(Comparator.reverseOrder()).toList());
+        assertEquals(List.of(FakeS3Server.FAILING_KEY), failed);
+    }
+
+    // 배열 없이 size 바이트를 만들어 내는 스트림 (업로드할 이미지 대신)
+    private static class GeneratedInputStream extends InputStream {
+
+        private long remaining;
+
+        GeneratedInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining <= 0) return -1;
+            remaining--;
+            return (int) (remaining & 0x7f);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining <= 0) return -1;
+            int n = (int) Math.min(len, remaining);
+            for (int i = 0; i < n; i++) {
+                b[off + i] = (byte) ((remaining - i - 1) & 0x7f);
+            }
+            remaining -= n;
+            return n;
+        }
+    }
+
+    /*
+        PutObject, CreateMultipartUpload, UploadPart, CompleteMultipartUpload, DeleteObjects만 흉내 내는 S3 대역 서버
+        받은 내용은 저장하지 않고 크기와 MD5(ETag)만 계산함.
+     */
+    private static class FakeS3Server {
+
+        private final HttpServer httpServer;
+        private final AtomicInteger puts = new AtomicInteger();
+        private final AtomicInteger parts = new AtomicInteger();
+        private final AtomicInteger completes = new AtomicInteger();
+        private final AtomicLong receivedBytes = new AtomicLong();
+        // DeleteObjects 요청마다 담긴 키 개수
+        private final List<Integer> deleteBatches = new CopyOnWriteArrayList<>();
+        // 이 키는 삭제 실패로 응답
+        static final String FAILING_KEY = "fail-me.png";
+
+        FakeS3Server() throws IOException {
+            httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            httpServer.createContext("/", this::handle);
+            httpServer.setExecutor(Executors.newFixedThreadPool(4));
+            httpServer.start();
+        }
+
+        String url() {
+            return "http://127.0.0.1:" + httpServer.getAddress().getPort();
+        }
+
+        void stop() {
+            httpServer.stop(0);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            String method = exchange.getRequestMethod();
+            String query = exchange.getRequestURI().getQuery() == null ? "" : exchange.getRequestURI().getQuery();
+            if (method.equals("POST") && query.startsWith("delete")) {
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                deleteBatches.add(body.split("<Key>", -1).length - 1);
+                String error = body.contains("<Key>" + FAILING_KEY + "</Key>") ?
+                        "<Error><Key>" + FAILING_KEY + "</Key><Code>AccessDenied</Code><Message>denied</Message></Error>" : "";
+                respond(exchange, 200, null, "<DeleteResult>" + error + "</DeleteResult>");
+                return;
+            }
+
+            String key = exchange.getRequestURI().getPath().substring("/bucket/".length());
+
+            if (method.equals("POST") && query.startsWith("uploads")) {
+                drain(exchange, new AtomicLong());
+                respond(exchange, 200, null, "<InitiateMultipartUploadResult><Bucket>bucket</Bucket><Key>" + key
+                        + "</Key><UploadId>upload-1</UploadId></InitiateMultipartUploadResult>");
+            } else if (method.equals("PUT")) {
+                String md5 = drain(exchange, receivedBytes);
+                if (query.contains("partNumber")) parts.incrementAndGet(); else puts.incrementAndGet();
+                respond(exchange, 200, "\"" + md5 + "\"", "");
+            } else if (method.equals("POST") && query.contains("uploadId")) {
+                drain(exchange, new AtomicLong());
+                completes.incrementAndGet();
+                respond(exchange, 200, null, "<CompleteMultipartUploadResult><Bucket>bucket</Bucket><Key>" + key
+                        + "</Key><ETag>\"done\"</ETag></CompleteMultipartUploadResult>");
+            } else {
+                drain(exchange, new AtomicLong());
+                respond(exchange, 204, null, "");
+            }
+        }
+
+        // 요청 본문을 읽어서 버리고 MD5를 리턴 (aws-chunked 인코딩이면 청크 서명을 걷어낸 실제 내용 기준)
+        private String drain(HttpExchange exchange, AtomicLong counter) throws IOException {
+            MessageDigest md5 = md5();
+            boolean chunked = String.valueOf(exchange.getRequestHeaders().getFirst("x-amz-content-sha256"))
+                    .startsWith("STREAMING");
+            try (InputStream in = exchange.getRequestBody()) {
+                byte[] buffer = new byte[64 * 1024];
+                if (!chunked) {
+                    int read;
+                    while ((read = in.read(buffer)) > 0) {
+                        md5.update(buffer, 0, read);
+                        counter.addAndGet(read);
+                    }
+                } else {
+                    while (true) {
+                        // "크기(16진수);chunk-signature=...\r\n"
+                        String header = readLine(in);
+                        int chunkSize = Integer.parseInt(header.substring(0, header.indexOf(';')), 16);
+                        if (chunkSize == 0) break;
+                        int left = chunkSize;
+                        while (left > 0) {
+                            int read = in.read(buffer, 0, Math.min(buffer.length, left));
+                            md5.update(buffer, 0, read);
+                            left -= read;
+                        }
+                        counter.addAndGet(chunkSize);
+                        readLine(in); // 청크 끝의 \r\n
+                    }
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+            return HexFormat.of().formatHex(md5.digest());
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            StringBuilder line = new StringBuilder();
+            int b;
+            while ((b = in.read()) != -1 && b != '\n') {
+                if (b != '\r') line.append((char) b);
+            }
+            return line.toString();
+        }
+
+        private static void respond(HttpExchange exchange, int status, String eTag, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            if (eTag != null) exchange.getResponseHeaders().add("ETag", eTag);
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            if (bytes.length > 0) {
+                exchange.getResponseBody().write(bytes);
+            }
+            exchange.close();
+        }
+
+        private static MessageDigest md5() {
+            try {
+                return MessageDigest.getInstance("MD5");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
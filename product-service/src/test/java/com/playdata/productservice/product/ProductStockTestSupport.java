@@ -0,0 +1,146 @@
+package com.playdata.productservice.product;
+
+import com.playdata.productservice.common.configs.AwsS3Config;
+import com.playdata.productservice.common.configs.QueryDslConfig;
+import com.playdata.productservice.product.entity.Product;
+import com.playdata.productservice.product.repository.ProductRepository;
+import com.playdata.productservice.product.repository.ProductStockBatchRepository;
+import com.playdata.productservice.product.service.HotStockService;
+import com.playdata.productservice.product.service.ProductEventPublisher;
+import com.playdata.productservice.product.service.ProductImageCleaner;
+import com.playdata.productservice.product.service.ProductImageProcessor;
+import com.playdata.productservice.product.service.ProductResponseCache;
+import com.playdata.productservice.product.service.ProductSearchIndex;
+import com.playdata.productservice.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/*
+    재고 동시성 테스트 공통 설정 (H2 MySQL 모드 + 실제 ProductService/리포지토리)
+
+    - 재고와 관계없는 협력 객체(S3, Redis 재고, 캐시, 색인, 이미지 처리)는 mock
+      -> 핫딜(Redis) 재고가 아닌 DB 경로로 처리됨
+    - 각 스레드가 자기 트랜잭션을 커밋해야 하므로 테스트 메소드를 트랜잭션으로 감싸지 않음
+    - 같은 설정을 쓰는 테스트 클래스끼리는 Spring 컨텍스트(= H2 DB)를 공유하므로 상품은 테스트마다 새로 만들어서 사용
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        // LOCK_TIMEOUT: 같은 행에 대한 UPDATE가 줄을 서서 기다릴 수 있도록 넉넉하게
+        "spring.datasource.url=jdbc:h2:mem:stock;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=50",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.cloud.config.enabled=false"
+})
+@Import({ProductService.class, ProductStockBatchRepository.class, QueryDslConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public abstract class ProductStockTestSupport {
+
+    @Autowired
+    protected ProductService productService;
+
+    @Autowired
+    protected ProductRepository productRepository;
+
+    @Autowired
+    protected ProductStockBatchRepository productStockBatchRepository;
+
+    @Autowired
+    protected PlatformTransactionManager transactionManager;
+
+    @MockBean
+    protected HotStockService hotStockService;
+
+    @MockBean
+    private AwsS3Config awsS3Config;
+
+    @MockBean
+    private ProductEventPublisher productEventPublisher;
+
+    @MockBean
+    private ProductSearchIndex productSearchIndex;
+
+    @MockBean
+    private ProductResponseCache productResponseCache;
+
+    @MockBean
+    private ProductImageProcessor productImageProcessor;
+
+    @MockBean
+    private ProductImageCleaner productImageCleaner;
+
+    // mock 기본값(0)이면 모든 상품이 핫딜로 처리되므로 "핫딜 상품 아님"(null)으로 고정
+    @BeforeEach
+    void notHotStock() {
+        when(hotStockService.tryDecrease(anyLong(), anyInt())).thenReturn(null);
+        when(hotStockService.tryIncrease(anyLong(), anyInt())).thenReturn(null);
+        when(hotStockService.currentStock(anyLong())).thenReturn(null);
+    }
+
+    protected Long saveProduct(String name, int stockQuantity) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .category("stock-test")
+                .price(1000)
+                .stockQuantity(stockQuantity)
+                .build()).getId();
+    }
+
+    protected int stockOf(Long prodId) {
+        return productRepository.findStockQuantityById(prodId).orElseThrow();
+    }
+
+    /**
+     * 작업들을 threads개 스레드에서 한꺼번에 시작시키고 모두 끝날 때까지 기다림
+     *
+     * @return - 실패한 작업들이 던진 예외 (모두 성공하면 빈 리스트)
+     */
+    protected static List<Throwable> runConcurrently(int threads, List<Callable<?>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Callable<?> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    future.get(60, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.playdata.productservice.product.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playdata.productservice.product.dto.ProductResDTO;
+import com.playdata.productservice.product.service.ProductResponseCache;
+import com.playdata.productservice.product.service.ProductService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 상품 단건 조회: ETag가 같으면 본문 없이 304, 재고가 바뀌면 새 ETag로 200
+class ProductControllerCacheTest {
+
+    private ProductService productService;
+    private ProductResponseCache productResponseCache;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        productResponseCache = new ProductResponseCache(mock(StringRedisTemplate.class), new ObjectMapper(),
+                new SimpleMeterRegistry(), true, 100, Duration.ofSeconds(5), false, Duration.ofSeconds(60));
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProductController(productService, productResponseCache))
+                .build();
+    }
+
+    @Test
+    void matchingEtagIsAnsweredWith304() throws Exception {
+        when(productService.getProductInfo(1L)).thenReturn(product(10));
+
+        String etag = mockMvc.perform(get("/product/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.stockQuantity").value(10))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/product/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(productService, times(1)).getProductInfo(1L);
+
+        // 재고가 바뀌면 이전 ETag로는 304가 아님
+        when(productService.getProductInfo(1L)).thenReturn(product(9));
+        productResponseCache.evictProductsAfterCommit(List.of(1L));
+        String changed = mockMvc.perform(get("/product/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.stockQuantity").value(9))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+        assertEquals(changed, mockMvc.perform(get("/product/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    private static ProductResDTO product(int stockQuantity) {
+        return ProductResDTO.builder()
+                .id(1L)
+                .name("item")
+                .price(1000)
+                .stockQuantity(stockQuantity)
+                .build();
+    }
+}
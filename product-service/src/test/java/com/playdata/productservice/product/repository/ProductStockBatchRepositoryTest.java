@@ -0,0 +1,67 @@
+package com.playdata.productservice.product.repository;
+
+import com.playdata.productservice.product.ProductStockTestSupport;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 500개 상품이 담긴 주문 취소(재고 복구)와 새 주문(재고 차감)이 동시에 들어와도 재고가 유실되지 않는지 확인
+class ProductStockBatchRepositoryTest extends ProductStockTestSupport {
+
+    private static final int PRODUCTS = 500;
+    private static final int INITIAL_STOCK = 100;
+    private static final int CANCELS = 20;
+    private static final int ORDERS = 2000;
+
+    @Test
+    void concurrentCancelsAndOrdersDoNotLoseUpdates() throws Exception {
+        List<Long> prodIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            prodIds.add(saveProduct("cancel-" + i, INITIAL_STOCK));
+        }
+
+        // 취소 주문 하나 = 500개 상품 각 1개씩 (순서를 섞어서 전달해도 id 순서로 갱신되어야 함)
+        Map<Long, Integer> cancelOrder = new HashMap<>();
+        prodIds.forEach(id -> cancelOrder.put(id, 1));
+
+        List<Callable<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < CANCELS; i++) {
+            tasks.add(() -> {
+                productService.cancelProduct(cancelOrder);
+                return null;
+            });
+        }
+        for (int i = 0; i < ORDERS; i++) {
+            Long prodId = prodIds.get(i % PRODUCTS);
+            tasks.add(() -> productService.decreaseStock(prodId, 1));
+        }
+
+        List<Throwable> failures = runConcurrently(32, tasks);
+        assertTrue(failures.isEmpty(), () -> "unexpected failures: " + failures);
+
+        // 최종 재고 = 처음 재고 + 취소로 복구된 수량 - 주문 수량 (재고가 충분하므로 주문은 모두 성공)
+        for (Long prodId : prodIds) {
+            assertEquals(INITIAL_STOCK + CANCELS - ORDERS / PRODUCTS, stockOf(prodId));
+        }
+    }
+
+    // 없는 상품이 섞여 있으면 예외 -> 이미 복구한 상품까지 전부 롤백
+    @Test
+    void missingProductRollsBackWholeCancel() {
+        Long prodId = saveProduct("cancel", INITIAL_STOCK);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> productService.cancelProduct(Map.of(prodId, 3, -1L, 1)));
+
+        assertEquals(INITIAL_STOCK, stockOf(prodId));
+    }
+}
@@ -0,0 +1,45 @@
+package com.playdata.productservice.product.repository;
+
+import com.playdata.productservice.product.ProductStockTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 같은 상품을 200명이 동시에 구매할 때 조건부 차감(decreaseStock)이 갱신을 잃지 않는지 확인
+class ProductStockConcurrencyTest extends ProductStockTestSupport {
+
+    private static final int BUYERS = 200;
+
+    @Test
+    void concurrentBuyersDoNotOversell() throws Exception {
+        int initialStock = 150;
+        Long prodId = saveProduct("hot-item", initialStock);
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Callable<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            tasks.add(() -> {
+                Integer updated = tx.execute(status -> productRepository.decreaseStock(prodId, 1));
+                (updated == 1 ? success : rejected).incrementAndGet();
+                return null;
+            });
+        }
+
+        List<Throwable> failures = runConcurrently(BUYERS, tasks);
+
+        // 재고만큼만 성공하고 나머지는 0건 갱신으로 거절, 남은 재고는 0 (음수 X, 유실 X)
+        assertTrue(failures.isEmpty(), () -> "failed buyers: " + failures);
+        assertEquals(initialStock, success.get());
+        assertEquals(BUYERS - initialStock, rejected.get());
+        assertEquals(0, stockOf(prodId));
+    }
+}
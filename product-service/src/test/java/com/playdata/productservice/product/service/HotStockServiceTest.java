@@ -0,0 +1,319 @@
+package com.playdata.productservice.product.service;
+
+import com.playdata.productservice.product.entity.Product;
+import com.playdata.productservice.product.entity.StockMode;
+import com.playdata.productservice.product.repository.ProductRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import redis.embedded.RedisServer;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 핫딜 재고 Lua 스크립트를 내장 Redis에서 동시에 실행해 초과 판매/모드 전환 시 유실이 없는지 확인
+// + write-behind(flush), 장애 복구(reconcile) 확인 (DB는 mock)
+class HotStockServiceTest {
+
+    private static final String FLUSH_SQL =
+            "UPDATE tbl_product SET stock_quantity = ? WHERE id = ? AND stock_mode = 'REDIS'";
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+    private ProductRepository productRepository;
+    private JdbcTemplate jdbcTemplate;
+    private HotStockService hotStockService;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws Exception {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+        productRepository = mock(ProductRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        hotStockService = new HotStockService(redisTemplate, productRepository, jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(hotStockService, "enabled", true);
+        ReflectionTestUtils.setField(hotStockService, "flushBatchSize", 500);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void concurrentDecrementsDoNotOversell() throws Exception {
+        Product product = hotProduct(1L, 100);
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+
+        runConcurrently(16, () -> {
+            for (int i = 0; i < 20; i++) {
+                try {
+                    hotStockService.tryDecrease(product.getId(), 1);
+                    sold.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    soldOut.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(100, sold.get());
+        assertEquals(16 * 20 - 100, soldOut.get());
+        assertEquals(0, hotStockService.currentStock(product.getId()));
+        assertThrows(IllegalArgumentException.class, () -> hotStockService.tryDecrease(product.getId(), 1));
+    }
+
+    // 주문이 계속 들어오는 중에 DB 모드로 되돌려도, 전환 전에 Redis에서 성공한 차감은 모두 DB 재고에 남아야 함
+    @Test
+    void switchingBackToDbKeepsEveryDecrement() throws Exception {
+        int initialStock = 1_000_000;
+        Product product = hotProduct(2L, initialStock);
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch selling = new CountDownLatch(1000);
+
+        ExecutorService switcher = Executors.newSingleThreadExecutor();
+        Future<?> switched = switcher.submit(() -> {
+            selling.await();
+            hotStockService.changeMode(product, StockMode.DB);
+            return null;
+        });
+
+        runConcurrently(8, () -> {
+            // 키가 사라지면(null) 이후 주문은 DB 경로로 처리되므로 여기서 멈춤
+            while (hotStockService.tryDecrease(product.getId(), 1) != null) {
+                sold.incrementAndGet();
+                selling.countDown();
+            }
+        });
+        switched.get(30, TimeUnit.SECONDS);
+        switcher.shutdown();
+
+        assertTrue(sold.get() >= 1000);
+        assertEquals(StockMode.DB, product.getStockMode());
+        assertEquals(initialStock - sold.get(), product.getStockQuantity());
+        assertNull(hotStockService.currentStock(product.getId()));
+        assertFalse(Boolean.TRUE.equals(redisTemplate.opsForSet().isMember("product:stock:dirty", "2")));
+    }
+
+    // 모드 전환 트랜잭션이 롤백되면 상품은 REDIS 모드 그대로이므로 재고 키를 되살려야 함
+    @Test
+    void rolledBackSwitchRestoresRedisStock() {
+        Product product = hotProduct(3L, 50);
+        hotStockService.tryDecrease(product.getId(), 5);
+
+        TransactionSynchronizationManager.initSynchronization();
+        hotStockService.changeMode(product, StockMode.DB);
+        assertNull(hotStockService.currentStock(product.getId()));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertEquals(45, hotStockService.currentStock(product.getId()));
+    }
+
+    // REDIS 전환 트랜잭션이 롤백되면 키를 지우고, 그 사이 Redis에서 팔린 수량은 DB 재고에 상대값으로 반영
+    @Test
+    void rolledBackSwitchToRedisRemovesKey() {
+        Product product = Product.builder().id(4L).name("hot-4").stockQuantity(30).build();
+
+        TransactionSynchronizationManager.initSynchronization();
+        hotStockService.changeMode(product, StockMode.REDIS);
+        hotStockService.tryDecrease(product.getId(), 3);
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertNull(hotStockService.currentStock(product.getId()));
+        assertFalse(Boolean.TRUE.equals(redisTemplate.opsForSet().isMember("product:stock:dirty", "4")));
+        verify(jdbcTemplate).update("UPDATE tbl_product SET stock_quantity = stock_quantity + ? WHERE id = ?", -3, 4L);
+    }
+
+    // 변경된 상품의 Redis 현재 값을 DB에 덮어쓰고 dirty set을 비움
+    @Test
+    void flushWritesCurrentRedisStock() {
+        hotProduct(5L, 10);
+        hotProduct(6L, 20);
+        hotStockService.tryDecrease(5L, 2);
+        hotStockService.tryDecrease(5L, 1);
+        hotStockService.tryIncrease(6L, 4);
+
+        hotStockService.flush();
+
+        assertEquals(Map.of(5L, 7, 6L, 24), flushedStocks());
+        assertEquals(0, redisTemplate.opsForSet().size("product:stock:dirty"));
+
+        // 바뀐 게 없으면 DB에 쓰지 않음
+        hotStockService.flush();
+        verify(jdbcTemplate).batchUpdate(eq(FLUSH_SQL), anyList());
+    }
+
+    // DB 반영에 실패하면 dirty set에 되돌려서 다음 주기에 최신 값으로 다시 씀
+    @Test
+    void failedFlushIsRetried() {
+        hotProduct(7L, 10);
+        hotStockService.tryDecrease(7L, 1);
+        when(jdbcTemplate.batchUpdate(eq(FLUSH_SQL), anyList()))
+                .thenThrow(new QueryTimeoutException("db down"))
+                .thenReturn(new int[]{1});
+
+        hotStockService.flush();
+        assertTrue(redisTemplate.opsForSet().isMember("product:stock:dirty", "7"));
+
+        hotStockService.tryDecrease(7L, 1);
+        hotStockService.flush();
+        assertEquals(Map.of(7L, 8), flushedStocks());
+        assertEquals(0, redisTemplate.opsForSet().size("product:stock:dirty"));
+    }
+
+    // Redis 데이터가 유실되면 REDIS 모드 상품의 키를 DB 값으로 다시 만들고, 남아 있는 키는 DB에 다시 씀
+    // 목록을 읽은 뒤 DB 모드로 되돌아간 상품(행 잠금으로 다시 확인)에는 키를 만들지 않음
+    @Test
+    void reconcileRestoresLostKeys() {
+        hotProduct(8L, 10);
+        hotStockService.tryDecrease(8L, 4);
+        redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+        hotProduct(9L, 30);
+        hotStockService.tryDecrease(9L, 5);
+
+        Product lost = product(8L, 10, StockMode.REDIS);
+        Product alive = product(9L, 30, StockMode.REDIS);
+        Product switchedBack = product(10L, 40, StockMode.DB);
+        when(productRepository.findIdsByStockMode(StockMode.REDIS)).thenReturn(List.of(8L, 9L, 10L));
+        when(productRepository.findAllByIdForUpdate(List.of(8L, 9L, 10L)))
+                .thenReturn(List.of(lost, alive, switchedBack));
+
+        hotStockService.reconcile();
+
+        assertEquals(10, hotStockService.currentStock(8L));
+        assertEquals(25, hotStockService.currentStock(9L));
+        assertNull(hotStockService.currentStock(10L));
+        assertEquals(Map.of(9L, 25), flushedStocks());
+    }
+
+    // reconcile 중 Redis 장애 -> 예외를 밖으로 던지지 않고 DB에도 쓰지 않음 (다음 주기에 재시도)
+    @Test
+    void reconcileSurvivesRedisFailure() {
+        when(productRepository.findIdsByStockMode(StockMode.REDIS)).thenReturn(List.of(11L));
+        when(productRepository.findAllByIdForUpdate(List.of(11L)))
+                .thenReturn(List.of(product(11L, 10, StockMode.REDIS)));
+        StringRedisTemplate broken = mock(StringRedisTemplate.class);
+        when(broken.opsForValue()).thenThrow(new QueryTimeoutException("redis down"));
+        HotStockService service = new HotStockService(broken, productRepository, jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(service, "enabled", true);
+
+        service.reconcile();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    // flush가 DB에 쓴 (상품 id -> 재고) (마지막 호출 기준)
+    @SuppressWarnings("unchecked")
+    private Map<Long, Integer> flushedStocks() {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(eq(FLUSH_SQL), captor.capture());
+        Map<Long, Integer> stocks = new HashMap<>();
+        for (Object[] args : captor.getValue()) {
+            stocks.put((Long) args[1], (Integer) args[0]);
+        }
+        return stocks;
+    }
+
+    private static Product product(Long id, int stockQuantity, StockMode stockMode) {
+        return Product.builder()
+                .id(id)
+                .name("hot-" + id)
+                .stockQuantity(stockQuantity)
+                .stockMode(stockMode)
+                .build();
+    }
+
+    private Product hotProduct(Long id, int stockQuantity) {
+        Product product = Product.builder()
+                .id(id)
+                .name("hot-" + id)
+                .stockQuantity(stockQuantity)
+                .build();
+        hotStockService.changeMode(product, StockMode.REDIS);
+        return product;
+    }
+
+    private static void runConcurrently(int threads, Runnable task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,157 @@
+package com.playdata.productservice.product.service;
+
+import com.playdata.productservice.common.configs.AwsS3Config;
+import com.playdata.productservice.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 썸네일/축소본 크기, 너무 큰 이미지 거절, 삭제된 상품의 변환 결과 정리, 삭제할 이미지 경로 확인
+class ProductImageProcessorTest {
+
+    private static final String BUCKET_URL = "https://bucket.s3.amazonaws.com/";
+
+    private AwsS3Config s3Config;
+    private ProductRepository productRepository;
+    private ProductResponseCache productResponseCache;
+    private ProductImageCleaner productImageCleaner;
+    private ProductImageProcessor processor;
+
+    // 업로드된 파일 (key -> 내용)
+    private final Map<String, byte[]> uploaded = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        s3Config = mock(AwsS3Config.class);
+        when(s3Config.keyFromUrl(anyString()))
+                .thenAnswer(invocation -> invocation.<String>getArgument(0).substring(BUCKET_URL.length()));
+        when(s3Config.urlFromKey(anyString()))
+                .thenAnswer(invocation -> BUCKET_URL + invocation.getArgument(0));
+        when(s3Config.uploadToS3Bucket(any(byte[].class), anyString(), anyString())).thenAnswer(invocation -> {
+            uploaded.put(invocation.getArgument(2), invocation.getArgument(0));
+            return BUCKET_URL + invocation.getArgument(2);
+        });
+
+        productRepository = mock(ProductRepository.class);
+        productResponseCache = mock(ProductResponseCache.class);
+        productImageCleaner = mock(ProductImageCleaner.class);
+
+        // 작업을 호출한 스레드에서 바로 실행
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        processor = new ProductImageProcessor(s3Config, productRepository, productResponseCache,
+                productImageCleaner, executor);
+        ReflectionTestUtils.setField(processor, "thumbnailWidth", 200);
+        ReflectionTestUtils.setField(processor, "mediumWidth", 600);
+        ReflectionTestUtils.setField(processor, "jpegQuality", 0.8f);
+        ReflectionTestUtils.setField(processor, "maxPixels", 5_000_000L);
+    }
+
+    // 큰 이미지는 건너뛰며 읽어도(2400 -> 1200) 축소본 크기와 비율은 그대로
+    @Test
+    void createsThumbnailAndMediumImages() throws Exception {
+        givenImage("1_photo.png", 2400, 1600);
+        when(productRepository.updateImageVariants(anyLong(), anyString(), anyString())).thenReturn(1);
+
+        processor.processAfterCommit(1L, BUCKET_URL + "1_photo.png");
+
+        assertSize(200, 133, "1_photo_thumb.jpg");
+        assertSize(600, 400, "1_photo_medium.jpg");
+        verify(productRepository).updateImageVariants(1L,
+                BUCKET_URL + "1_photo_thumb.jpg", BUCKET_URL + "1_photo_medium.jpg");
+        verify(productResponseCache).evictProductsAfterCommit(List.of(1L));
+    }
+
+    @Test
+    void smallImageIsNotEnlarged() throws Exception {
+        givenImage("2_icon.png", 100, 50);
+        when(productRepository.updateImageVariants(anyLong(), anyString(), anyString())).thenReturn(1);
+
+        processor.processAfterCommit(2L, BUCKET_URL + "2_icon.png");
+
+        assertSize(100, 50, "2_icon_thumb.jpg");
+        assertSize(100, 50, "2_icon_medium.jpg");
+    }
+
+    // max-pixels를 넘으면 디코딩/업로드하지 않고 원본 이미지만 사용
+    @Test
+    void imageOverPixelLimitIsSkipped() throws Exception {
+        givenImage("3_huge.png", 2500, 2001);
+
+        processor.processAfterCommit(3L, BUCKET_URL + "3_huge.png");
+
+        assertTrue(uploaded.isEmpty());
+        verify(productRepository, never()).updateImageVariants(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void nonImageFileIsSkipped() throws Exception {
+        when(s3Config.downloadFromS3Bucket(BUCKET_URL + "4_doc.png"))
+                .thenReturn(new ByteArrayInputStream("not an image".getBytes()));
+
+        processor.processAfterCommit(4L, BUCKET_URL + "4_doc.png");
+
+        assertTrue(uploaded.isEmpty());
+    }
+
+    // 변환하는 사이에 삭제된 상품 -> 만든 파일도 정리
+    @Test
+    void variantsOfDeletedProductAreDeleted() throws Exception {
+        givenImage("5_photo.png", 800, 600);
+        when(productRepository.updateImageVariants(anyLong(), anyString(), anyString())).thenReturn(0);
+
+        processor.processAfterCommit(5L, BUCKET_URL + "5_photo.png");
+
+        verify(productImageCleaner).deleteAfterCommit(
+                List.of(BUCKET_URL + "5_photo_thumb.jpg", BUCKET_URL + "5_photo_medium.jpg"));
+        verify(productResponseCache, never()).evictProductsAfterCommit(anyList());
+    }
+
+    // 상품 삭제 시 지울 경로에는 아직 DB에 기록되지 않은(변환 중인) 썸네일/축소본 위치도 포함됨
+    @Test
+    void imageUrlsIncludeVariantsBeforeTheyAreRecorded() throws Exception {
+        assertEquals(List.of(BUCKET_URL + "6_photo.png", BUCKET_URL + "6_photo_thumb.jpg",
+                        BUCKET_URL + "6_photo_medium.jpg"),
+                processor.imageUrls(BUCKET_URL + "6_photo.png"));
+        assertEquals(List.of(), processor.imageUrls(null));
+    }
+
+    private void givenImage(String key, int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        when(s3Config.downloadFromS3Bucket(BUCKET_URL + key))
+                .thenReturn(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private void assertSize(int width, int height, String key) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(uploaded.get(key)));
+        assertEquals(width, image.getWidth());
+        assertEquals(height, image.getHeight());
+    }
+}
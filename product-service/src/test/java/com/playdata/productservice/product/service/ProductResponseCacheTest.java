@@ -0,0 +1,217 @@
+package com.playdata.productservice.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playdata.productservice.product.dto.ProductResDTO;
+import com.playdata.productservice.product.dto.ProductSearchDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import redis.embedded.RedisServer;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 상품 응답 캐시: 재고 변경 시 해당 상품/목록만 커밋 후 삭제, 커밋 전에 읽기 시작한 값은 다시 캐시되지 않는지 확인 (내장 Redis)
+class ProductResponseCacheTest {
+
+    private static final ProductSearchDTO SEARCH = new ProductSearchDTO();
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 2);
+    private static final Pageable SECOND_PAGE = PageRequest.of(1, 2);
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws Exception {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void cachedDetailKeepsItsEtagUntilStockChanges() {
+        ProductResponseCache cache = cache(false);
+        CountingLoader<ProductResDTO> loader = new CountingLoader<>(() -> product(1L, 10));
+
+        String etag = cache.getDetail(1L, loader).etag();
+        assertEquals(etag, cache.getDetail(1L, loader).etag());
+        assertEquals(1, loader.calls.get());
+
+        loader.next = () -> product(1L, 9);
+        cache.evictProductsAfterCommit(List.of(1L));
+        ProductResponseCache.Cached<ProductResDTO> changed = cache.getDetail(1L, loader);
+        assertEquals(9, changed.body().getStockQuantity());
+        assertNotEquals(etag, changed.etag());
+    }
+
+    // 재고 변경은 그 상품이 들어있는 목록 페이지만 삭제
+    @Test
+    void stockChangeEvictsOnlyPagesContainingTheProduct() {
+        for (boolean redisEnabled : new boolean[]{false, true}) {
+            ProductResponseCache cache = cache(redisEnabled);
+            CountingLoader<List<ProductResDTO>> first = new CountingLoader<>(() -> List.of(product(1L, 10), product(2L, 10)));
+            CountingLoader<List<ProductResDTO>> second = new CountingLoader<>(() -> List.of(product(3L, 10)));
+            cache.getList(SEARCH, FIRST_PAGE, first);
+            cache.getList(SEARCH, SECOND_PAGE, second);
+
+            cache.evictProductsAfterCommit(List.of(2L));
+            cache.getList(SEARCH, FIRST_PAGE, first);
+            cache.getList(SEARCH, SECOND_PAGE, second);
+
+            assertEquals(2, first.calls.get());
+            assertEquals(1, second.calls.get());
+            redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+        }
+    }
+
+    // 트랜잭션 안에서 바뀐 재고는 커밋된 뒤에만 캐시에서 삭제됨
+    @Test
+    void evictionWaitsForCommit() {
+        ProductResponseCache cache = cache(false);
+        CountingLoader<ProductResDTO> loader = new CountingLoader<>(() -> product(1L, 10));
+        cache.getDetail(1L, loader);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evictProductsAfterCommit(List.of(1L));
+        cache.getDetail(1L, loader);
+        assertEquals(1, loader.calls.get());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.getDetail(1L, loader);
+        assertEquals(2, loader.calls.get());
+    }
+
+    // 커밋 전에 DB를 읽은 요청이 커밋 후 삭제보다 늦게 저장하려 하면 저장하지 않음 (로컬)
+    @Test
+    void readStartedBeforeCommitIsNotCachedLocally() {
+        ProductResponseCache cache = cache(false);
+        CountingLoader<ProductResDTO> loader = new CountingLoader<>(() -> {
+            ProductResDTO old = product(1L, 10);
+            // 이 요청이 이전 재고를 읽은 뒤, 다른 요청의 재고 변경이 커밋되고 캐시가 삭제됨
+            cache.evictProductsAfterCommit(List.of(1L));
+            return old;
+        });
+        assertEquals(10, cache.getDetail(1L, loader).body().getStockQuantity());
+
+        loader.next = () -> product(1L, 9);
+        assertEquals(9, cache.getDetail(1L, loader).body().getStockQuantity());
+        assertEquals(2, loader.calls.get());
+    }
+
+    @Test
+    void listReadStartedBeforeCommitIsNotCachedLocally() {
+        ProductResponseCache cache = cache(false);
+        CountingLoader<List<ProductResDTO>> loader = new CountingLoader<>(() -> {
+            List<ProductResDTO> old = List.of(product(1L, 10), product(2L, 10));
+            cache.evictProductsAfterCommit(List.of(2L));
+            return old;
+        });
+        cache.getList(SEARCH, FIRST_PAGE, loader);
+
+        loader.next = () -> List.of(product(1L, 10), product(2L, 9));
+        assertEquals(9, cache.getList(SEARCH, FIRST_PAGE, loader).body().get(1).getStockQuantity());
+        assertEquals(2, loader.calls.get());
+    }
+
+    // 다른 인스턴스에서 커밋 후 삭제한 경우에도 Redis에 이전 값이 다시 저장되지 않음
+    @Test
+    void readStartedBeforeCommitIsNotCachedInRedis() {
+        ProductResponseCache reader = cache(true);
+        ProductResponseCache writer = cache(true);
+        reader.getDetail(1L, () -> {
+            ProductResDTO old = product(1L, 10);
+            writer.evictProductsAfterCommit(List.of(1L));
+            return old;
+        });
+        assertFalse(redisTemplate.hasKey("product:cache:detail:1"));
+
+        reader.getList(SEARCH, FIRST_PAGE, () -> {
+            List<ProductResDTO> old = List.of(product(1L, 10), product(2L, 10));
+            writer.evictProductsAfterCommit(List.of(2L));
+            return old;
+        });
+        assertTrue(redisTemplate.keys("product:cache:list:*").isEmpty());
+
+        // 경합이 없으면 저장되어 다른 인스턴스가 DB를 거치지 않고 읽음
+        // (reader의 로컬 캐시는 다른 인스턴스의 재고 변경을 모르므로 새 인스턴스로 확인)
+        cache(true).getDetail(1L, () -> product(1L, 9));
+        CountingLoader<ProductResDTO> other = new CountingLoader<>(() -> product(1L, 0));
+        assertEquals(9, cache(true).getDetail(1L, other).body().getStockQuantity());
+        assertEquals(0, other.calls.get());
+    }
+
+    private ProductResponseCache cache(boolean redisEnabled) {
+        return new ProductResponseCache(redisTemplate, new ObjectMapper(), new SimpleMeterRegistry(),
+                true, 100, Duration.ofSeconds(5), redisEnabled, Duration.ofSeconds(60));
+    }
+
+    private static ProductResDTO product(Long id, int stockQuantity) {
+        return ProductResDTO.builder()
+                .id(id)
+                .name("item-" + id)
+                .price(1000)
+                .stockQuantity(stockQuantity)
+                .build();
+    }
+
+    // 호출 횟수를 세는 loader (next를 바꾸면 다음 조회부터 다른 값)
+    private static class CountingLoader<T> implements Supplier<T> {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile Supplier<T> next;
+
+        CountingLoader(Supplier<T> next) {
+            this.next = next;
+        }
+
+        @Override
+        public T get() {
+            calls.incrementAndGet();
+            return next.get();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.playdata.productservice.product.service;
+
+import com.playdata.productservice.common.configs.QueryDslConfig;
+import com.playdata.productservice.common.event.ProductChangedEvent;
+import com.playdata.productservice.product.dto.ProductSearchDTO;
+import com.playdata.productservice.product.entity.Product;
+import com.playdata.productservice.product.repository.ProductRepository;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.playdata.productservice.product.entity.QProduct.product;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/*
+    n-gram 색인 검색 결과가 QueryDSL 검색(LIKE '%검색어%')과 같은지 실제 DB 쿼리와 비교
+    IGNORECASE: 운영 MySQL의 기본 collation처럼 대소문자를 구분하지 않고 비교 (색인도 소문자로 비교함)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.cloud.config.enabled=false"
+})
+@Import({ProductSearchIndex.class, QueryDslConfig.class})
+// 색인 갱신 이벤트를 다른 스레드에서 보내야 하므로 테스트 메소드를 트랜잭션으로 감싸지 않음.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductSearchIndexTest {
+
+    private static final List<String[]> PRODUCTS = List.of(
+            new String[]{"Apple iPhone 15", "전자기기"},
+            new String[]{"apple", "Fruit"},
+            new String[]{"a", "fruit juice"},
+            new String[]{"Banana Apple Pie", "베이커리"},
+            new String[]{"사과", "과일"},
+            new String[]{"사과나무 묘목", "원예"},
+            new String[]{"청사과 주스", "음료"},
+            new String[]{"ab", "x"},
+            new String[]{"ba", "y"},
+            new String[]{"aab", "x"},
+            new String[]{"100% 오렌지", "음료"},
+            new String[]{"under_score", "기타"},
+            new String[]{"체리 & 사과", "과일 세트"},
+            new String[]{"  공백  앞뒤  ", "기타"}
+    );
+
+    // 상품명의 부분 문자열이 아닌 검색어 (gram은 모두 있지만 이어지지 않는 경우 포함)
+    private static final List<String> NOT_SUBSTRINGS = List.of(
+            "aba", "bab", "abb", "사과주스", "과사", "pple x", "%%", "_s", "zz", "없는상품");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private JPAQueryFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAllInBatch();
+    }
+
+    // 1글자, gram 경계를 넘는 검색어, 대소문자, LIKE 특수문자(%, _)까지 모든 부분 문자열로 비교
+    @Test
+    void indexMatchesLikeSearch() {
+        PRODUCTS.forEach(p -> save(p[0], p[1]));
+        productSearchIndex.rebuild();
+
+        Set<String> keywords = new LinkedHashSet<>(NOT_SUBSTRINGS);
+        for (String[] p : PRODUCTS) {
+            for (String text : p) {
+                for (int from = 0; from < text.length(); from++) {
+                    for (int to = from + 1; to <= text.length(); to++) {
+                        String keyword = text.substring(from, to);
+                        // 공백뿐인 검색어는 색인을 쓰지 않음 (QueryDSL로 처리)
+                        if (keyword.isBlank()) continue;
+                        keywords.add(keyword);
+                        keywords.add(keyword.toUpperCase());
+                    }
+                }
+            }
+        }
+
+        for (String category : List.of("name", "category")) {
+            for (String keyword : keywords) {
+                ProductSearchDTO dto = new ProductSearchDTO(category, keyword);
+                assertEquals(likeSearch(dto), productSearchIndex.search(dto, 0, Integer.MAX_VALUE),
+                        () -> category + " '" + keyword + "'");
+            }
+        }
+    }
+
+    // offset/limit, 커서(id 내림차순) 페이지도 DB 쿼리와 같음
+    @Test
+    void pagesMatchLikeSearch() {
+        for (int i = 0; i < 30; i++) {
+            save("item " + i, "paging");
+        }
+        productSearchIndex.rebuild();
+
+        ProductSearchDTO dto = new ProductSearchDTO("name", "1");
+        List<Long> all = likeSearch(dto);
+        assertEquals(all.subList(3, 6), productSearchIndex.search(dto, 3, 3));
+
+        List<Long> descending = new ArrayList<>(all);
+        Collections.reverse(descending);
+        Long cursor = descending.get(2);
+        assertEquals(descending.subList(3, 7), productSearchIndex.searchBefore(dto, cursor, 4));
+    }
+
+    // rebuild 중에 들어온 등록/삭제가 교체 후에도 반영되어 있음
+    @Test
+    void eventsDuringRebuildAreKept() throws Exception {
+        for (int i = 0; i < 3000; i++) {
+            save("item " + i, "rebuild");
+        }
+        productSearchIndex.rebuild();
+
+        CompletableFuture<Void> rebuilds = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 20; i++) {
+                productSearchIndex.rebuild();
+            }
+        });
+        List<Long> ids = likeSearch(new ProductSearchDTO("name", "item"));
+        int next = 0;
+        while (!rebuilds.isDone()) {
+            // 등록 하나 + (이미 DB를 읽고 지나갔을 수 있는) 앞쪽 상품 삭제 하나
+            Long created = save("item new " + next, "rebuild");
+            productSearchIndex.onProductChanged(event(created, "CREATED"));
+            Long deleted = ids.get(next++);
+            productRepository.deleteById(deleted);
+            productSearchIndex.onProductChanged(event(deleted, "DELETED"));
+        }
+        rebuilds.get(60, TimeUnit.SECONDS);
+
+        ProductSearchDTO dto = new ProductSearchDTO("name", "item");
+        assertEquals(likeSearch(dto), productSearchIndex.search(dto, 0, Integer.MAX_VALUE));
+    }
+
+    // 색인 생성 후 등록/삭제가 쌓여서 색인에 합쳐진 뒤에도 DB 쿼리와 같음 (압축 목록의 블록 경계를 넘는 커서 포함)
+    @Test
+    void changesAfterRebuildMatchLikeSearch() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            ids.add(save("item " + i, "merge"));
+        }
+        productSearchIndex.rebuild();
+
+        for (int i = 0; i < 1500; i++) {
+            Long created = save("item new " + i, "merge");
+            productSearchIndex.onProductChanged(event(created, "CREATED"));
+            if (i % 3 == 0) {
+                Long deleted = ids.remove(0);
+                productRepository.deleteById(deleted);
+                productSearchIndex.onProductChanged(event(deleted, "DELETED"));
+            }
+            ids.add(created);
+        }
+
+        for (String keyword : List.of("item", "new", "1", "item 3", "w 14")) {
+            ProductSearchDTO dto = new ProductSearchDTO("name", keyword);
+            List<Long> all = likeSearch(dto);
+            assertEquals(all, productSearchIndex.search(dto, 0, Integer.MAX_VALUE), keyword);
+            assertEquals(all.subList(Math.min(5, all.size()), Math.min(25, all.size())),
+                    productSearchIndex.search(dto, 5, 20), keyword);
+
+            List<Long> descending = new ArrayList<>(all);
+            Collections.reverse(descending);
+            for (int i = 0; i < descending.size(); i += 7) {
+                assertEquals(descending.subList(i + 1, Math.min(i + 21, descending.size())),
+                        productSearchIndex.searchBefore(dto, descending.get(i), 20), keyword + " before " + i);
+            }
+        }
+    }
+
+    private List<Long> likeSearch(ProductSearchDTO dto) {
+        return factory.select(product.id)
+                .from(product)
+                .where(ProductSearchCondition.of(dto))
+                .orderBy(product.id.asc())
+                .fetch();
+    }
+
+    private Long save(String name, String category) {
+        Long id = productRepository.save(Product.builder()
+                .name(name)
+                .category(category)
+                .price(1000)
+                .stockQuantity(10)
+                .build()).getId();
+        assertNotNull(id);
+        return id;
+    }
+
+    private static ProductChangedEvent event(Long productId, String changeType) {
+        return new ProductChangedEvent(ProductSearchIndexTest.class, "product-service", () -> "**",
+                productId, changeType);
+    }
+}
@@ -0,0 +1,124 @@
+package com.playdata.productservice.product.service;
+
+import com.playdata.productservice.product.ProductStockTestSupport;
+import com.playdata.productservice.product.dto.ProductResDTO;
+import com.playdata.productservice.product.dto.ProductStockReqDTO;
+import com.playdata.productservice.product.entity.Product;
+import com.playdata.productservice.product.entity.StockMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// ProductService의 재고 변경 경로를 실제 트랜잭션/행 잠금으로 확인
+class ProductServiceStockTest extends ProductStockTestSupport {
+
+    // 서비스의 단건 차감도 조건부 UPDATE를 쓰므로 동시 구매에서 재고만큼만 성공하고, 나머지는 재고 부족(400)으로 거절
+    @Test
+    void decreaseStockDoesNotOversell() throws Exception {
+        int buyers = 200;
+        int initialStock = 150;
+        Long prodId = saveProduct("flash-sale", initialStock);
+
+        List<Callable<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < buyers; i++) {
+            tasks.add(() -> productService.decreaseStock(prodId, 1));
+        }
+
+        List<Throwable> failures = runConcurrently(buyers, tasks);
+
+        assertEquals(buyers - initialStock, failures.size());
+        assertTrue(failures.stream().allMatch(IllegalArgumentException.class::isInstance),
+                () -> "unexpected failures: " + failures);
+        assertEquals(0, stockOf(prodId));
+    }
+
+    // 한 상품이라도 재고가 부족하면 먼저 차감한 상품까지 전부 롤백
+    @Test
+    void reserveIsAllOrNothing() {
+        Long enough = saveProduct("enough", 10);
+        Long scarce = saveProduct("scarce", 1);
+
+        assertThrows(IllegalArgumentException.class, () -> productService.reserveProducts(List.of(
+                new ProductStockReqDTO(enough, 3),
+                new ProductStockReqDTO(scarce, 2))));
+
+        assertEquals(10, stockOf(enough));
+        assertEquals(1, stockOf(scarce));
+    }
+
+    // 같은 상품이 여러 줄로 들어오면 합친 수량으로 한 번만 차감
+    @Test
+    void reserveMergesDuplicateLines() {
+        Long prodId = saveProduct("duplicated", 10);
+
+        productService.reserveProducts(List.of(
+                new ProductStockReqDTO(prodId, 3),
+                new ProductStockReqDTO(prodId, 4)));
+
+        assertEquals(3, stockOf(prodId));
+    }
+
+    // 겹치는 장바구니를 반대 순서로 담은 주문이 동시에 들어와도 id 순서로 잠그므로 데드락(잠금 대기 시간 초과) 없이 모두 처리됨
+    @Test
+    void overlappingBasketsDoNotDeadlock() throws Exception {
+        int orders = 100;
+        Long first = saveProduct("basket-a", 1000);
+        Long second = saveProduct("basket-b", 1000);
+
+        List<Callable<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            List<ProductStockReqDTO> basket = i % 2 == 0 ?
+                    List.of(new ProductStockReqDTO(first, 1), new ProductStockReqDTO(second, 1)) :
+                    List.of(new ProductStockReqDTO(second, 1), new ProductStockReqDTO(first, 1));
+            tasks.add(() -> productService.reserveProducts(basket));
+        }
+
+        List<Throwable> failures = runConcurrently(20, tasks);
+
+        assertTrue(failures.isEmpty(), () -> "failed orders: " + failures);
+        assertEquals(1000 - orders, stockOf(first));
+        assertEquals(1000 - orders, stockOf(second));
+    }
+
+    // Redis 키를 확인(없음)한 뒤 행 잠금을 얻었을 때는 이미 REDIS 모드로 전환된 경우
+    // -> DB 재고는 건드리지 않고 Redis에서 처리 (DB에 차감하면 다음 flush가 Redis 값으로 덮어써서 유실됨)
+    @Test
+    void dbPathReroutesProductSwitchedToRedis() {
+        Long prodId = productRepository.save(Product.builder()
+                .name("switched")
+                .category("stock-test")
+                .price(1000)
+                .stockQuantity(10)
+                .stockMode(StockMode.REDIS)
+                .build()).getId();
+        when(hotStockService.isHot(any(Product.class)))
+                .thenAnswer(invocation -> invocation.<Product>getArgument(0).getStockMode() == StockMode.REDIS);
+        when(hotStockService.decreaseHot(prodId, 3)).thenReturn(7L);
+
+        assertEquals(7, productService.decreaseStock(prodId, 3));
+        assertEquals(10, stockOf(prodId));
+
+        List<ProductResDTO> reserved = productService.reserveProducts(List.of(new ProductStockReqDTO(prodId, 3)));
+        assertEquals(7, reserved.get(0).getStockQuantity());
+        assertEquals(10, stockOf(prodId));
+
+        when(hotStockService.isEnabled()).thenReturn(true);
+        productService.cancelProduct(Map.of(prodId, 2));
+        verify(hotStockService).increaseHot(prodId, 2);
+        assertEquals(10, stockOf(prodId));
+
+        productService.updateStockQuantity(prodId, 50);
+        verify(hotStockService).setHot(prodId, 50);
+        assertEquals(10, stockOf(prodId));
+    }
+}
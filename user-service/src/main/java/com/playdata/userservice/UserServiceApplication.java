@@ -2,8 +2,11 @@ package com.playdata.userservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
 
 @SpringBootApplication
+// 회원 변경 이벤트(UserChangedEvent)를 bus로 보내기 위해 등록
+@RemoteApplicationEventScan(basePackages = "com.playdata.userservice.common.event")
 public class UserServiceApplication {
 
 
@@ -36,7 +36,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         // 이제는 gateway가 토큰 내의 클레임을 헤더에 담아서 보내줌.
         String userEmail = request.getHeader("X-User-Email");
         String userRole = request.getHeader("X-User-Role");
-        log.info("userEmail: {}, userRole: {}", userEmail, userRole);
+        Long userId = parseUserId(request.getHeader("X-User-Id"));
+        log.info("userEmail: {}, userRole: {}, userId: {}", userEmail, userRole, userId);
 
         // token에 null이 들어갈 수 있으니 null 체크
 
@@ -55,7 +56,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 // 인증 완료 처리
                 // 위에서 준비한 여러가지 사용자 정보, 인가정보 리스트를 하나의 객체로 포장
                 Authentication auth = new UsernamePasswordAuthenticationToken(
-                        new TokenUserInfo(userEmail, Role.valueOf(userRole)), // controller 등에서 활용할 USER 정보
+                        new TokenUserInfo(userEmail, Role.valueOf(userRole), userId), // controller 등에서 활용할 USER 정보
                         "",       // 인증된 사용자의 비밀번호: 보통 null 혹은 빈 문자열로 선언
                         authorityList  // 인가 정보 (권한 확인용)
                 );
@@ -74,4 +75,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     }
 
+    // 회원 번호 헤더는 예전에 발급된 토큰이면 없을 수 있음
+    private Long parseUserId(String userId) {
+        if (userId == null || userId.isBlank()) return null;
+        try {
+            return Long.valueOf(userId);
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 X-User-Id 헤더: {}", userId);
+            return null;
+        }
+    }
 }
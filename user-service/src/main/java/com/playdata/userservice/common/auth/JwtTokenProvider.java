@@ -35,16 +35,18 @@ public class JwtTokenProvider {
                 "exp": "2023-12-27(만료일자)",
                 "iat": "2023-11-27(발급일자)",
                 "email": "로그인한 사람 이메일",
-                "role": "Premium"
+                "role": "Premium",
+                "userId": 회원 번호 (다른 서비스가 user-service에 다시 묻지 않도록)
                 ...
                 == 서명
             }
      */
 
-    public String createToken(String email, String role){
+    public String createToken(String email, String role, Long userId){
         // Claims: 페이로드에 들어갈 사용자 정보
         Claims claims = Jwts.claims().setSubject(email);
         claims.put("role", role);
+        claims.put("userId", userId);
         Date now = new Date();
 
 
@@ -93,6 +95,7 @@ public class JwtTokenProvider {
                 // Claim이 바로 Role(enum)으로 변환이 안되기에
                 // String으로 꺼내고 valueOf를 통해 Role로 변환해줌
                 .role(Role.valueOf(claims.get("role", String.class)))
+                .userId(claims.get("userId", Long.class))
                 .build();
 
     }
@@ -93,7 +93,7 @@ public class UserController {
         
         // Access Token -> 수명 짧음
         String token = jwtTokenProvider.createToken(user.getEmail()
-                , user.getRole().toString());
+                , user.getRole().toString(), user.getId());
 
         // Refresh Token -> 수명 길음
         // Access Token 수명이 만료되었을 경우 Refresh Token이 유효한 경우
@@ -183,7 +183,7 @@ public class UserController {
         // 새로운 access token을 발급
         User foundUser = userService.findById(id);
         String newAccessToken = jwtTokenProvider.createToken(foundUser.getEmail(),
-                foundUser.getRole().toString());
+                foundUser.getRole().toString(), foundUser.getId());
 
         Map<String, Object> info = new HashMap<>();
         info.put("token", newAccessToken);
@@ -259,7 +259,7 @@ public class UserController {
 
         // JWT 토큰 생성 (우리 사이트 로그인 유지를 위해)
         String token =
-                jwtTokenProvider.createToken(resDto.getEmail(), resDto.getRole().toString());
+                jwtTokenProvider.createToken(resDto.getEmail(), resDto.getRole().toString(), resDto.getId());
 
         String refreshToken =
                 jwtTokenProvider.createRefreshToken(resDto.getEmail(), resDto.getRole().toString());
@@ -0,0 +1,53 @@
+package com.playdata.userservice.user.service;
+
+import com.playdata.userservice.common.event.UserChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 회원 정보가 바뀌었음을 다른 서비스에 알림 (spring-cloud-bus)
+// -> ordering-service가 가지고 있는 회원 캐시를 비우게 함.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventPublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final BusProperties busProperties;
+
+    // 모든 서비스에게 전파
+    private final PathDestinationFactory destinationFactory = new PathDestinationFactory();
+
+    public void userChanged(String email) {
+        publishAfterCommit(email);
+    }
+
+    // 트랜잭션이 커밋된 뒤에 발행 -> 롤백된 변경을 알리거나, 받는 쪽이 커밋 전 값을 다시 읽어가는 일이 없도록
+    private void publishAfterCommit(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(email);
+            }
+        });
+    }
+
+    private void publish(String email) {
+        try {
+            eventPublisher.publishEvent(new UserChangedEvent(this, busProperties.getId(),
+                    destinationFactory.getDestination(null), email));
+        } catch (Exception e) {
+            // 알림 실패로 회원 처리가 실패하면 안 됨 (받는 쪽 캐시는 TTL로 결국 갱신됨)
+            log.warn("회원 변경 이벤트 발행 실패: {}, 이유: {}", email, e.getMessage());
+        }
+    }
+}
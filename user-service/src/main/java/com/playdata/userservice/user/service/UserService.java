@@ -50,6 +50,9 @@ public class UserService {
 
     private final RedisTemplate<String, Object> redisTemplate;
 
+    // 회원 정보 변경을 다른 서비스에 알림 (ordering-service 회원 캐시 삭제)
+    private final UserEventPublisher userEventPublisher;
+
     // Redis key 상수
     private static final String VERIFICATION_CODE_KEY = "email_verify:code:";
     private static final String VERIFICATION_ATTEMPT_KEY = "email_verify:attempt:";
@@ -75,7 +78,10 @@ public class UserService {
         // 이메일 중복 안됨 -> 회원가입 진행
         // dto를 entity로 변환하는 로직
         User user = dto.toEntity(encoder);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // 같은 이메일로 재가입한 경우 이전 회원 정보가 캐시에 남아있지 않도록
+        userEventPublisher.userChanged(saved.getEmail());
+        return saved;
 
     }
 
@@ -329,6 +335,7 @@ public class UserService {
                     .address(null)
                     .build();
             User saved = userRepository.save(newUser);
+            userEventPublisher.userChanged(saved.getEmail());
             return saved.fromEntity();
         }
 